@@ -0,0 +1,88 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+
+/**
+ * @author zanxus
+ * @description Reports the heap held by the same table as {@link HtmlParentElement}/{@link HtmlElement}
+ * objects and as an {@link HtmlArena}, and the time to render each form. The object tree is
+ * measured before its first render fills the subtree cache.
+ * @create 2026-10-20-下午2:10
+ */
+public class ArenaHeapHarness {
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 10;
+
+    public static void main(String[] args) throws IOException {
+        long baseline = usedHeap();
+        HtmlTag table = new HtmlParentElement("table");
+        table.setStartTag("<table>");
+        table.setEndTag("</table>");
+        for (int r = 0; r < ROWS; r++) {
+            HtmlTag row = new HtmlParentElement("tr");
+            row.setStartTag("<tr>");
+            row.setEndTag("</tr>");
+            for (int c = 0; c < COLUMNS; c++) {
+                HtmlTag cell = new HtmlElement("td");
+                cell.setStartTag("<td>");
+                cell.setEndTag("</td>");
+                cell.setTagBody(Integer.toString(r * COLUMNS + c));
+                row.addChildTag(cell);
+            }
+            table.addChildTag(row);
+        }
+        long objectBytes = usedHeap() - baseline;
+
+        baseline = usedHeap();
+        HtmlArena arena = new HtmlArena(1024);
+        int root = arena.addParentElement(HtmlArena.NONE, "table");
+        arena.setStartTag(root, "<table>");
+        arena.setEndTag(root, "</table>");
+        for (int r = 0; r < ROWS; r++) {
+            int row = arena.addParentElement(root, "tr");
+            arena.setStartTag(row, "<tr>");
+            arena.setEndTag(row, "</tr>");
+            for (int c = 0; c < COLUMNS; c++) {
+                int cell = arena.addElement(row, "td");
+                arena.setStartTag(cell, "<td>");
+                arena.setEndTag(cell, "</td>");
+                arena.setTagBody(cell, Integer.toString(r * COLUMNS + c));
+            }
+        }
+        arena.trimToSize();
+        long arenaBytes = usedHeap() - baseline;
+
+        long start = System.nanoTime();
+        String expected = table.toHtml();
+        System.out.printf("first render: objects %7.2f ms%n", (System.nanoTime() - start) / 1e6);
+        for (int round = 0; round < 5; round++) {
+            StringBuilder out = new StringBuilder(expected.length());
+            start = System.nanoTime();
+            table.render(out);
+            long objectNanos = System.nanoTime() - start;
+
+            out = new StringBuilder(expected.length());
+            start = System.nanoTime();
+            arena.render(root, out);
+            long arenaNanos = System.nanoTime() - start;
+            if (!out.toString().equals(expected)) {
+                throw new IllegalStateException("Arena output differs from the object tree");
+            }
+            System.out.printf("render: objects (cached rows) %7.2f ms   arena %7.2f ms%n", objectNanos / 1e6, arenaNanos / 1e6);
+        }
+        int nodes = arena.size();
+        System.out.printf("%,d nodes, %d dictionary entries%n", nodes, arena.getDictionarySize());
+        System.out.printf("objects: %6.1f bytes/node%n", (double) objectBytes / nodes);
+        System.out.printf("arena:   %6.1f bytes/node%n", (double) arenaBytes / nodes);
+        Reference.reachabilityFence(table);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
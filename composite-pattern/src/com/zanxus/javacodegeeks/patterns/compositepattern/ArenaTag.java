@@ -0,0 +1,155 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author zanxus
+ * @description {@link HtmlTag} view of one {@link HtmlArena} node. All state lives in the arena and
+ * renders come straight from it, so views keep no output cache; for the same reason they do not
+ * see changes made through other views and are rejected by {@link HtmlParentElement#addChildTag}.
+ * @create 2026-10-20-下午1:30
+ */
+final class ArenaTag extends HtmlTag {
+    private final HtmlArena arena;
+    private final int node;
+
+    ArenaTag(HtmlArena arena, int node) {
+        this.arena = arena;
+        this.node = node;
+    }
+
+    @Override
+    public String getTagName() {
+        return arena.getTagName(node);
+    }
+
+    @Override
+    public void setStartTag(String tag) {
+        arena.setStartTag(node, tag);
+    }
+
+    @Override
+    public void setEndTag(String tag) {
+        arena.setEndTag(node, tag);
+    }
+
+    @Override
+    public void setTagBody(String tagBody) {
+        arena.setTagBody(node, tagBody);
+    }
+
+    @Override
+    public void addChildTag(HtmlTag htmlTag) {
+        if (!arena.isParentElement(node)) {
+            super.addChildTag(htmlTag);
+        }
+        arena.appendChild(node, nodeOf(htmlTag));
+    }
+
+    /**
+     * Unlinks {@code htmlTag}; as with {@link HtmlParentElement}, tags that are not children, views
+     * of other arenas among them, are ignored.
+     */
+    @Override
+    public void removeChildTag(HtmlTag htmlTag) {
+        if (!arena.isParentElement(node)) {
+            super.removeChildTag(htmlTag);
+        }
+        if (htmlTag instanceof ArenaTag && ((ArenaTag) htmlTag).arena == arena) {
+            arena.removeChild(node, ((ArenaTag) htmlTag).node);
+        }
+    }
+
+    @Override
+    public List<HtmlTag> getChildren() {
+        if (!arena.isParentElement(node)) {
+            return super.getChildren();
+        }
+        return Collections.unmodifiableList(children());
+    }
+
+    @Override
+    List<HtmlTag> children() {
+        List<HtmlTag> children = new ArrayList<>();
+        for (int child = arena.getFirstChild(node); child != HtmlArena.NONE; child = arena.getNextSibling(child)) {
+            children.add(new ArenaTag(arena, child));
+        }
+        return children;
+    }
+
+    @Override
+    public void render(Appendable out) throws IOException {
+        arena.render(node, out);
+    }
+
+    @Override
+    public void render(GatheringByteChannel channel) throws IOException {
+        Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        arena.render(node, out);
+        out.flush();
+    }
+
+    @Override
+    protected long renderStart(Appendable out) throws IOException {
+        return arena.renderStart(node, out);
+    }
+
+    @Override
+    protected long renderEnd(Appendable out) throws IOException {
+        return arena.renderEnd(node, out);
+    }
+
+    @Override
+    protected ByteBuffer startBuffer() {
+        return encodeMarkup(true);
+    }
+
+    @Override
+    protected ByteBuffer endBuffer() {
+        return arena.isParentElement(node) ? encodeMarkup(false) : null;
+    }
+
+    private ByteBuffer encodeMarkup(boolean start) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            if (start) {
+                arena.renderStart(node, sb);
+            } else {
+                arena.renderEnd(node, sb);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int nodeOf(HtmlTag htmlTag) {
+        if (!(htmlTag instanceof ArenaTag) || ((ArenaTag) htmlTag).arena != arena) {
+            throw new IllegalArgumentException("Only nodes of the same arena can be linked: " + htmlTag);
+        }
+        return ((ArenaTag) htmlTag).node;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ArenaTag && ((ArenaTag) o).arena == arena && ((ArenaTag) o).node == node;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(arena) * 31 + node;
+    }
+
+    @Override
+    public String toString() {
+        return "ArenaTag[" + node + " " + getTagName() + "]";
+    }
+}
@@ -0,0 +1,62 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.TreeMap;
+
+/**
+ * @author zanxus
+ * @description Returns buffers to a {@link DirectBufferPool} only once no reader that may still
+ * hold a duplicate of them is running. Readers enter at the current epoch; every buffer retired
+ * while readers are in flight closes the epoch and is kept until all readers that entered at or
+ * before it have exited, so readers that start later never hold it up.
+ * @create 2026-10-20-下午6:10
+ */
+final class BufferReclaimer {
+    private final DirectBufferPool pool;
+    private final TreeMap<Long, Integer> readers = new TreeMap<>();
+    private final ArrayDeque<Retired> retired = new ArrayDeque<>();
+    private long epoch;
+
+    BufferReclaimer(DirectBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Registers a reader and returns the epoch to pass to {@link #exit}.
+     */
+    synchronized long enter() {
+        readers.merge(epoch, 1, Integer::sum);
+        return epoch;
+    }
+
+    synchronized void exit(long readerEpoch) {
+        readers.computeIfPresent(readerEpoch, (e, count) -> count == 1 ? null : count - 1);
+        long oldest = readers.isEmpty() ? Long.MAX_VALUE : readers.firstKey();
+        while (!retired.isEmpty() && retired.peekFirst().epoch < oldest) {
+            pool.release(retired.pollFirst().buffer);
+        }
+    }
+
+    /**
+     * Hands {@code buffer} back to the pool now if no reader is in flight, or else once every
+     * reader in flight has exited.
+     */
+    synchronized void retire(ByteBuffer buffer) {
+        if (readers.isEmpty()) {
+            pool.release(buffer);
+        } else {
+            retired.addLast(new Retired(epoch++, buffer));
+        }
+    }
+
+    private static final class Retired {
+        final long epoch;
+        final ByteBuffer buffer;
+
+        Retired(long epoch, ByteBuffer buffer) {
+            this.epoch = epoch;
+            this.buffer = buffer;
+        }
+    }
+}
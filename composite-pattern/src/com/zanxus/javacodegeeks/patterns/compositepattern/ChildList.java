@@ -0,0 +1,200 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * @author zanxus
+ * @description Child storage of {@link HtmlParentElement}. Each child remembers its slot, so it is
+ * removed by leaving a tombstone rather than by an {@code equals} scan and a shift. While there
+ * are tombstones, a Fenwick tree counts the live slots, so a removal takes amortized logarithmic
+ * time, and a position and the slot holding it are found from each other in logarithmic time.
+ * Tombstones are squeezed out in one pass once they make up half the slots, never on a read or
+ * an append, which grows the slots instead; since the tree is built again only on the first
+ * removal after that, both passes are paid for by the removals that led up to them. Iteration
+ * follows insertion order throughout.
+ * @create 2026-10-20-下午5:30
+ */
+final class ChildList extends AbstractList<HtmlTag> implements RandomAccess {
+    private static final int MIN_COMPACTION = 32;
+
+    private HtmlTag[] slots = new HtmlTag[8];
+    private int end;
+    private int removed;
+    /**
+     * Fenwick tree over the slots, one-based, counting live children; {@code null} while there
+     * are no tombstones.
+     */
+    private int[] live;
+
+    @Override
+    public int size() {
+        return end - removed;
+    }
+
+    @Override
+    public HtmlTag get(int index) {
+        Objects.checkIndex(index, size());
+        return slots[removed == 0 ? index : slotOf(index)];
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof HtmlTag && holds((HtmlTag) o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o)) {
+            return -1;
+        }
+        int slot = ((HtmlTag) o).getSlot();
+        return removed == 0 ? slot : liveBefore(slot);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public void forEach(Consumer<? super HtmlTag> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            HtmlTag tag = slots[i];
+            if (tag != null) {
+                action.accept(tag);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    void append(HtmlTag tag) {
+        if (end == slots.length) {
+            grow(end * 2);
+        }
+        slots[end] = tag;
+        tag.setSlot(end);
+        if (live != null) {
+            add(end, 1);
+        }
+        end++;
+        modCount++;
+    }
+
+    void ensureCapacity(int additional) {
+        if (end + additional > slots.length) {
+            grow(Math.max(end + additional, slots.length * 2));
+        }
+    }
+
+    /**
+     * Tombstones {@code tag}'s slot. Returns {@code false} if it is not in this list.
+     */
+    boolean delete(HtmlTag tag) {
+        if (tag == null || !holds(tag)) {
+            return false;
+        }
+        int slot = tag.getSlot();
+        slots[slot] = null;
+        tag.setSlot(-1);
+        if (removed++ == 0) {
+            live = count(slots, end);
+        } else {
+            add(slot, -1);
+        }
+        modCount++;
+        if (removed >= MIN_COMPACTION && removed * 2 >= end) {
+            compact();
+        }
+        return true;
+    }
+
+    private boolean holds(HtmlTag tag) {
+        int slot = tag.getSlot();
+        return slot >= 0 && slot < end && slots[slot] == tag;
+    }
+
+    private void grow(int capacity) {
+        slots = Arrays.copyOf(slots, capacity);
+        if (live != null) {
+            live = count(slots, end);
+        }
+    }
+
+    /**
+     * Moves the live children down over the tombstones, keeping their order.
+     */
+    private void compact() {
+        if (removed == 0) {
+            return;
+        }
+        int next = 0;
+        for (int i = 0; i < end; i++) {
+            HtmlTag tag = slots[i];
+            if (tag != null) {
+                slots[next] = tag;
+                tag.setSlot(next++);
+            }
+        }
+        Arrays.fill(slots, next, end, null);
+        end = next;
+        removed = 0;
+        live = null;
+    }
+
+    /**
+     * Number of live children in the slots before {@code slot}.
+     */
+    private int liveBefore(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += live[i];
+        }
+        return count;
+    }
+
+    /**
+     * The slot of the child at {@code index}, found by descending the tree.
+     */
+    private int slotOf(int index) {
+        int slot = 0;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next <= slots.length && live[next] <= index) {
+                slot = next;
+                index -= live[next];
+            }
+        }
+        return slot;
+    }
+
+    private void add(int slot, int delta) {
+        for (int i = slot + 1; i < live.length; i += i & -i) {
+            live[i] += delta;
+        }
+    }
+
+    /**
+     * Builds the tree for {@code slots} in linear time.
+     */
+    private static int[] count(HtmlTag[] slots, int end) {
+        int[] tree = new int[slots.length + 1];
+        for (int i = 1; i < tree.length; i++) {
+            if (i <= end && slots[i - 1] != null) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,101 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author zanxus
+ * @description Removes half the rows of a large table one at a time and in bulk, against
+ * {@code ArrayList.remove(Object)}, which the children were kept in before, and checks that the
+ * remaining rows keep their order. Then removes rows while asking for the position of another
+ * after each removal, which must not squeeze out the tombstones every time.
+ * @create 2026-10-20-下午5:50
+ */
+public class ChildRemovalBenchmark {
+    private static final int ROWS = 100_000;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            List<HtmlTag> rows = rows();
+            List<HtmlTag> doomed = new ArrayList<>(rows.subList(0, ROWS / 2));
+            Collections.shuffle(doomed, new Random(round));
+
+            List<HtmlTag> list = new ArrayList<>(rows);
+            long start = System.nanoTime();
+            for (HtmlTag row : doomed) {
+                list.remove(row);
+            }
+            long arrayList = System.nanoTime() - start;
+
+            HtmlTag table = table(rows);
+            start = System.nanoTime();
+            for (HtmlTag row : doomed) {
+                table.removeChildTag(row);
+            }
+            long single = System.nanoTime() - start;
+            check(table, list);
+
+            table = table(rows);
+            start = System.nanoTime();
+            table.removeChildTags(doomed);
+            long bulk = System.nanoTime() - start;
+            check(table, list);
+
+            start = System.nanoTime();
+            long positions = 0;
+            for (HtmlTag row : list) {
+                positions += table.indexOfChildTag(row);
+            }
+            long lookup = System.nanoTime() - start;
+            if (positions != (long) list.size() * (list.size() - 1) / 2) {
+                throw new IllegalStateException("Positions are off");
+            }
+            System.out.printf("remove %,d of %,d: ArrayList %8.2f ms   removeChildTag %6.2f ms   "
+                            + "removeChildTags %6.2f ms   indexOfChildTag x%,d %6.2f ms%n",
+                    doomed.size(), ROWS, arrayList / 1e6, single / 1e6, bulk / 1e6, list.size(), lookup / 1e6);
+
+            table = table(rows);
+            List<HtmlTag> remaining = new ArrayList<>(rows);
+            HtmlTag last = rows.get(ROWS - 1);
+            start = System.nanoTime();
+            for (HtmlTag row : doomed) {
+                table.removeChildTag(row);
+                int index = table.indexOfChildTag(last);
+                if (index != table.getChildren().size() - 1 || table.getChildren().get(index) != last) {
+                    throw new IllegalStateException("Position of the last row is off");
+                }
+            }
+            long interleaved = System.nanoTime() - start;
+            remaining.removeAll(doomed);
+            check(table, remaining);
+            System.out.printf("remove %,d of %,d with indexOfChildTag and get after each: %6.2f ms%n",
+                    doomed.size(), ROWS, interleaved / 1e6);
+        }
+    }
+
+    private static List<HtmlTag> rows() {
+        List<HtmlTag> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            HtmlTag row = new HtmlElement("tr");
+            row.setStartTag("<tr>");
+            row.setEndTag("</tr>");
+            row.setTagBody(Integer.toString(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static HtmlTag table(List<HtmlTag> rows) {
+        HtmlTag table = new HtmlParentElement("table");
+        table.addChildTags(rows);
+        return table;
+    }
+
+    private static void check(HtmlTag table, List<HtmlTag> expected) {
+        if (!table.getChildren().equals(expected)) {
+            throw new IllegalStateException("Remaining rows are out of order");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * @author zanxus
+ * @description Pool of direct buffers in power-of-two size classes, carved out of 1 MB slabs.
+ * Requests above the largest class get a dedicated, unpooled buffer.
+ * @create 2026-10-20-上午9:20
+ */
+public final class DirectBufferPool {
+    private static final int MIN_SHIFT = 5;
+    private static final int MAX_SHIFT = 16;
+    private static final int SLAB_SIZE = 1 << 20;
+
+    private static final DirectBufferPool shared = new DirectBufferPool();
+
+    @SuppressWarnings("unchecked")
+    private final Queue<ByteBuffer>[] free = (Queue<ByteBuffer>[]) new Queue<?>[MAX_SHIFT - MIN_SHIFT + 1];
+    private ByteBuffer slab;
+
+    public DirectBufferPool() {
+        for (int i = 0; i < free.length; i++) {
+            free[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    public static DirectBufferPool shared() {
+        return shared;
+    }
+
+    /**
+     * Returns a cleared buffer whose limit is exactly {@code size}.
+     */
+    public ByteBuffer acquire(int size) {
+        int shift = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+        if (shift > MAX_SHIFT) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        ByteBuffer buffer = free[shift - MIN_SHIFT].poll();
+        if (buffer == null) {
+            buffer = carve(1 << shift);
+        }
+        buffer.clear().limit(size);
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) == 1 && capacity >= 1 << MIN_SHIFT && capacity <= 1 << MAX_SHIFT) {
+            free[Integer.numberOfTrailingZeros(capacity) - MIN_SHIFT].offer(buffer);
+        }
+    }
+
+    private synchronized ByteBuffer carve(int size) {
+        if (slab == null || slab.remaining() < size) {
+            slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+        }
+        ByteBuffer slice = slab.slice();
+        slice.limit(size);
+        slab.position(slab.position() + size);
+        return slice.slice();
+    }
+}
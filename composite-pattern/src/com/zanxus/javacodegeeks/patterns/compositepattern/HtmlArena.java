@@ -0,0 +1,328 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * @author zanxus
+ * @description Compact tag tree for very large documents. Nodes are int ids into parallel arrays
+ * holding the parent, first child, last child and next sibling links, and the dictionary ids of
+ * the tag name, start tag and end tag; element bodies share one char heap. A node costs about 36
+ * bytes plus its body chars, against several objects per {@link HtmlElement}. {@link #view} exposes
+ * any node through the {@link HtmlTag} API. Like the object tree, an arena is not thread-safe.
+ * @create 2026-10-20-下午1:30
+ */
+public final class HtmlArena {
+    public static final int NONE = -1;
+
+    private static final int PARENT = -2;
+    private static final int NULL_BODY = -1;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final TagDictionary dictionary = new TagDictionary();
+    private int[] parent;
+    private int[] firstChild;
+    private int[] lastChild;
+    private int[] nextSibling;
+    private int[] tagName;
+    private int[] startTag;
+    private int[] endTag;
+    private int[] bodyOffset;
+    private int[] bodyLength;
+    private int size;
+    private char[] text;
+    private int textSize;
+
+    public HtmlArena() {
+        this(1024);
+    }
+
+    public HtmlArena(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        lastChild = new int[capacity];
+        nextSibling = new int[capacity];
+        tagName = new int[capacity];
+        startTag = new int[capacity];
+        endTag = new int[capacity];
+        bodyOffset = new int[capacity];
+        bodyLength = new int[capacity];
+        text = new char[Math.max(16, capacity * 4)];
+    }
+
+    /**
+     * Adds a node that holds children, with empty start and end tags like a new
+     * {@link HtmlParentElement}, as the last child of {@code parent}, or detached if
+     * {@code parent} is {@link #NONE}. Returns the new node.
+     */
+    public int addParentElement(int parent, String tagName) {
+        int node = allocate(tagName);
+        startTag[node] = dictionary.intern("");
+        endTag[node] = dictionary.intern("");
+        bodyOffset[node] = PARENT;
+        link(parent, node);
+        return node;
+    }
+
+    /**
+     * Adds a leaf element as the last child of {@code parent}, or detached if {@code parent} is
+     * {@link #NONE}. Returns the new node.
+     */
+    public int addElement(int parent, String tagName) {
+        int node = allocate(tagName);
+        startTag[node] = TagDictionary.NULL;
+        endTag[node] = TagDictionary.NULL;
+        bodyOffset[node] = NULL_BODY;
+        link(parent, node);
+        return node;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct tag strings held by the dictionary.
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    public boolean isParentElement(int node) {
+        return bodyOffset[check(node)] == PARENT;
+    }
+
+    public int getParent(int node) {
+        return parent[check(node)];
+    }
+
+    public int getFirstChild(int node) {
+        return firstChild[check(node)];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSibling[check(node)];
+    }
+
+    public String getTagName(int node) {
+        return dictionary.get(tagName[check(node)]);
+    }
+
+    public void setStartTag(int node, String tag) {
+        startTag[check(node)] = dictionary.intern(tag);
+    }
+
+    public void setEndTag(int node, String tag) {
+        endTag[check(node)] = dictionary.intern(tag);
+    }
+
+    /**
+     * Sets the body of an element. A body that fits is overwritten in place; a longer one is
+     * appended to the char heap, leaving the old chars unused.
+     */
+    public void setTagBody(int node, String tagBody) {
+        if (isParentElement(node)) {
+            throw new UnsupportedOperationException("Current operation is not support for this object");
+        }
+        if (tagBody == null) {
+            bodyOffset[node] = NULL_BODY;
+            return;
+        }
+        int length = tagBody.length();
+        int offset = bodyOffset[node];
+        if (offset < 0 || length > bodyLength[node]) {
+            if (textSize + length < 0) {
+                throw new IllegalStateException("Body text exceeds 2 GB chars");
+            }
+            if (textSize + length > text.length) {
+                text = Arrays.copyOf(text, (int) Math.min(Integer.MAX_VALUE - 8,
+                        Math.max(textSize + (long) length, text.length * 2L)));
+            }
+            offset = textSize;
+            textSize += length;
+        }
+        tagBody.getChars(0, length, text, offset);
+        bodyOffset[node] = offset;
+        bodyLength[node] = length;
+    }
+
+    /**
+     * Links the detached node {@code child} as the last child of {@code parent}.
+     */
+    public void appendChild(int parent, int child) {
+        if (this.parent[check(child)] != NONE || child == root(parent)) {
+            throw new IllegalArgumentException("Node " + child + " is attached or an ancestor of " + parent);
+        }
+        link(parent, child);
+    }
+
+    /**
+     * Unlinks {@code child} from {@code parent}, leaving it detached with its subtree intact.
+     * Returns {@code false} if it is not a child of {@code parent}.
+     */
+    public boolean removeChild(int parent, int child) {
+        if (this.parent[check(child)] != check(parent)) {
+            return false;
+        }
+        int previous = NONE;
+        for (int c = firstChild[parent]; c != child; c = nextSibling[c]) {
+            previous = c;
+        }
+        if (previous == NONE) {
+            firstChild[parent] = nextSibling[child];
+        } else {
+            nextSibling[previous] = nextSibling[child];
+        }
+        if (lastChild[parent] == child) {
+            lastChild[parent] = previous;
+        }
+        this.parent[child] = NONE;
+        nextSibling[child] = NONE;
+        return true;
+    }
+
+    /**
+     * Renders {@code node} and its subtree exactly as the equivalent {@link HtmlTag} tree would.
+     * The walk follows the parent and sibling links, so it needs no stack at any depth.
+     */
+    public void render(int node, Appendable out) throws IOException {
+        check(node);
+        int current = node;
+        while (true) {
+            renderStart(current, out);
+            if (firstChild[current] != NONE) {
+                current = firstChild[current];
+                continue;
+            }
+            while (true) {
+                renderEnd(current, out);
+                if (current == node) {
+                    return;
+                }
+                if (nextSibling[current] != NONE) {
+                    current = nextSibling[current];
+                    break;
+                }
+                current = parent[current];
+            }
+        }
+    }
+
+    public String toHtml(int node) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            render(node, sb);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a lightweight {@link HtmlTag} backed by {@code node}. Views are created on demand
+     * and compare equal when they refer to the same node of the same arena.
+     */
+    public HtmlTag view(int node) {
+        return new ArenaTag(this, check(node));
+    }
+
+    long renderStart(int node, Appendable out) throws IOException {
+        long length = HtmlTag.append(out, dictionary.get(startTag[node]));
+        int offset = bodyOffset[node];
+        if (offset == PARENT) {
+            return length + HtmlTag.append(out, LINE_SEPARATOR);
+        }
+        if (offset == NULL_BODY) {
+            length += HtmlTag.append(out, null);
+        } else {
+            appendText(out, offset, bodyLength[node]);
+            length += bodyLength[node];
+        }
+        return length + HtmlTag.append(out, dictionary.get(endTag[node])) + HtmlTag.append(out, LINE_SEPARATOR);
+    }
+
+    long renderEnd(int node, Appendable out) throws IOException {
+        if (bodyOffset[node] != PARENT) {
+            return 0;
+        }
+        return HtmlTag.append(out, dictionary.get(endTag[node])) + HtmlTag.append(out, LINE_SEPARATOR);
+    }
+
+    private void appendText(Appendable out, int offset, int length) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(text, offset, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(text, offset, length);
+        } else {
+            out.append(CharBuffer.wrap(text, offset, length));
+        }
+    }
+
+    /**
+     * Shrinks the node arrays and the char heap to what is in use, once a document is built.
+     */
+    public void trimToSize() {
+        resize(Math.max(1, size));
+        text = Arrays.copyOf(text, textSize);
+    }
+
+    private void resize(int capacity) {
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        lastChild = Arrays.copyOf(lastChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        tagName = Arrays.copyOf(tagName, capacity);
+        startTag = Arrays.copyOf(startTag, capacity);
+        endTag = Arrays.copyOf(endTag, capacity);
+        bodyOffset = Arrays.copyOf(bodyOffset, capacity);
+        bodyLength = Arrays.copyOf(bodyLength, capacity);
+    }
+
+    private int allocate(String name) {
+        if (size == parent.length) {
+            resize(size * 2);
+        }
+        int node = size++;
+        parent[node] = NONE;
+        firstChild[node] = NONE;
+        lastChild[node] = NONE;
+        nextSibling[node] = NONE;
+        tagName[node] = dictionary.intern(name);
+        return node;
+    }
+
+    private void link(int parent, int child) {
+        if (parent == NONE) {
+            return;
+        }
+        if (!isParentElement(parent)) {
+            throw new UnsupportedOperationException("Current operation is not support for this object");
+        }
+        this.parent[child] = parent;
+        if (lastChild[parent] == NONE) {
+            firstChild[parent] = child;
+        } else {
+            nextSibling[lastChild[parent]] = child;
+        }
+        lastChild[parent] = child;
+    }
+
+    private int root(int node) {
+        while (parent[check(node)] != NONE) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private int check(int node) {
+        if (node < 0 || node >= size) {
+            throw new IllegalArgumentException("No such node: " + node);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,42 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+/**
+ * @author zanxus
+ * @description Receives the events of {@link HtmlTokenizer} in document order, in the manner of a
+ * SAX content handler. Tags are passed as their raw markup, attributes included, so a handler
+ * can reproduce the input. Names are lower case.
+ * @create 2026-10-20-下午4:00
+ */
+public interface HtmlContentHandler {
+
+    /**
+     * A start tag. Void elements such as {@code <br>} and self-closing tags are followed
+     * immediately by an {@link #endElement} with an empty tag.
+     */
+    void startElement(String name, String tag);
+
+    void endElement(String name, String tag);
+
+    /**
+     * Text between tags as it appears in the input, since entities such as {@code &amp;} are not
+     * decoded. One run of text may arrive in several calls, and the array is only valid during
+     * the call.
+     */
+    void characters(char[] buffer, int offset, int length);
+
+    /**
+     * A comment, including its {@code <!--} and {@code -->}. A very long comment arrives in
+     * several calls, the first starting with {@code <!--} and the last ending with {@code -->}.
+     */
+    default void comment(String markup) {
+    }
+
+    /**
+     * A {@code <!DOCTYPE ...>} or {@code <?...?>} declaration, in several calls if very long.
+     */
+    default void declaration(String markup) {
+    }
+
+    default void endDocument() {
+    }
+}
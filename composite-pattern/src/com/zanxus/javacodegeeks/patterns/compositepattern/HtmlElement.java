@@ -1,5 +1,8 @@
 package com.zanxus.javacodegeeks.patterns.compositepattern;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
 /**
  * @author zanxus
  * @description
@@ -10,6 +13,7 @@ public class HtmlElement extends HtmlTag {
     private String startTag;
     private String endTag;
     private String tagBody;
+    private ByteBuffer encoded;
 
     public HtmlElement(String tagName) {
         this.tagName = tagName;
@@ -23,20 +27,37 @@ public class HtmlElement extends HtmlTag {
     @Override
     public void setStartTag(String startTag) {
         this.startTag = startTag;
+        invalidate();
     }
 
     @Override
     public void setEndTag(String endTag) {
         this.endTag = endTag;
+        invalidate();
     }
 
     @Override
     public void setTagBody(String tagBody) {
         this.tagBody = tagBody;
+        invalidate();
+    }
+
+    @Override
+    protected long renderStart(Appendable out) throws IOException {
+        return append(out, startTag) + append(out, tagBody) + append(out, endTag) + append(out, LINE_SEPARATOR);
     }
 
     @Override
-    public void generateHtml() {
-        System.out.println(startTag + "" + tagBody + "" + endTag);
+    protected ByteBuffer startBuffer() {
+        if (encoded == null) {
+            encoded = encode(startTag, tagBody, endTag, LINE_SEPARATOR);
+        }
+        return encoded;
+    }
+
+    private void invalidate() {
+        markDirty();
+        release(encoded);
+        encoded = null;
     }
 }
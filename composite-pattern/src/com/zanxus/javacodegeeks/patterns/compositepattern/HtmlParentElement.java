@@ -1,6 +1,9 @@
 package com.zanxus.javacodegeeks.patterns.compositepattern;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,14 +15,16 @@ public class HtmlParentElement extends HtmlTag {
     private String tagName;
     private String startTag;
     private String endTag;
+    private ByteBuffer encodedStart;
+    private ByteBuffer encodedEnd;
 
-    private List<HtmlTag> childrenTag;
+    private ChildList childrenTag;
 
     public HtmlParentElement(String tagName) {
         this.tagName = tagName;
         this.startTag = "";
         this.endTag = "";
-        this.childrenTag = new ArrayList<>();
+        this.childrenTag = new ChildList();
     }
 
 
@@ -31,33 +36,92 @@ public class HtmlParentElement extends HtmlTag {
     @Override
     public void setStartTag(String startTag) {
         this.startTag = startTag;
+        markDirty();
+        release(encodedStart);
+        encodedStart = null;
     }
 
     @Override
     public void setEndTag(String endTag) {
         this.endTag = endTag;
+        markDirty();
+        release(encodedEnd);
+        encodedEnd = null;
     }
 
+    /**
+     * Appends {@code htmlTag}, first removing it from the parent it is in, this one included.
+     *
+     * @throws IllegalArgumentException if {@code htmlTag} is a view of an {@link HtmlArena} node
+     */
     @Override
     public void addChildTag(HtmlTag htmlTag) {
-        childrenTag.add(htmlTag);
+        if (htmlTag instanceof ArenaTag) {
+            throw new IllegalArgumentException("Arena nodes cannot be added to an HtmlParentElement: " + htmlTag);
+        }
+        HtmlTag parent = htmlTag.getParent();
+        if (parent instanceof HtmlParentElement) {
+            parent.removeChildTag(htmlTag);
+        }
+        childrenTag.append(htmlTag);
+        attach(this, htmlTag);
     }
 
+    @Override
+    public void addChildTags(Collection<? extends HtmlTag> htmlTags) {
+        childrenTag.ensureCapacity(htmlTags.size());
+        super.addChildTags(htmlTags);
+    }
+
+    /**
+     * Removes {@code htmlTag} in amortized logarithmic time; tags that are not children are
+     * ignored.
+     */
     @Override
     public void removeChildTag(HtmlTag htmlTag) {
-        childrenTag.remove(htmlTag);
+        if (childrenTag.delete(htmlTag)) {
+            detach(this, htmlTag);
+        }
+    }
+
+    @Override
+    public int indexOfChildTag(HtmlTag htmlTag) {
+        return childrenTag.indexOf(htmlTag);
     }
 
     @Override
     public List<HtmlTag> getChildren() {
+        return Collections.unmodifiableList(childrenTag);
+    }
+
+    @Override
+    List<HtmlTag> children() {
         return childrenTag;
     }
 
     @Override
-    public void generateHtml() {
-        System.out.println(startTag);
-        childrenTag.forEach(htmlTag -> htmlTag.generateHtml());
-        System.out.println(endTag);
+    protected long renderStart(Appendable out) throws IOException {
+        return append(out, startTag) + append(out, LINE_SEPARATOR);
+    }
+
+    @Override
+    protected long renderEnd(Appendable out) throws IOException {
+        return append(out, endTag) + append(out, LINE_SEPARATOR);
+    }
 
+    @Override
+    protected ByteBuffer startBuffer() {
+        if (encodedStart == null) {
+            encodedStart = encode(startTag, LINE_SEPARATOR);
+        }
+        return encodedStart;
+    }
+
+    @Override
+    protected ByteBuffer endBuffer() {
+        if (encodedEnd == null) {
+            encodedEnd = encode(endTag, LINE_SEPARATOR);
+        }
+        return encodedEnd;
     }
 }
@@ -0,0 +1,93 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * @author zanxus
+ * @description Writes a large HTML table export to a temporary file and reads it back with
+ * {@link HtmlTokenizer}: counting events from the memory-mapped file and from a buffered reader,
+ * then building the tree with {@link HtmlTreeBuilder}.
+ * @create 2026-10-20-下午4:40
+ */
+public class HtmlParserBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int COLUMNS = 8;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("export", ".html");
+        try {
+            write(file);
+            double megabytes = Files.size(file) / (1024.0 * 1024.0);
+            System.out.printf("%.1f MB export%n", megabytes);
+            for (int round = 0; round < 3; round++) {
+                EventCounter counter = new EventCounter();
+                long start = System.nanoTime();
+                new HtmlTokenizer(counter).parse(file);
+                report("events, mapped file", megabytes, start, counter.elements + " elements");
+
+                counter = new EventCounter();
+                start = System.nanoTime();
+                try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    new HtmlTokenizer(counter).parse(in);
+                }
+                report("events, reader", megabytes, start, counter.elements + " elements");
+            }
+            long start = System.nanoTime();
+            List<HtmlTag> roots = HtmlTreeBuilder.parse(file);
+            long tags = 0;
+            for (HtmlTag root : roots) {
+                tags += HtmlTagTraversal.size(root);
+            }
+            report("tree, mapped file", megabytes, start, tags + " tags");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void report(String mode, double megabytes, long start, String detail) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-20s %7.1f MB/s  %s%n", mode, megabytes / seconds, detail);
+    }
+
+    private static void write(Path file) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.write("<!DOCTYPE html>\n<html>\n<body>\n<table class=\"export\">\n");
+            for (int r = 0; r < ROWS; r++) {
+                out.write("<tr>");
+                for (int c = 0; c < COLUMNS; c++) {
+                    out.write("<td>");
+                    out.write(Integer.toString(r * COLUMNS + c));
+                    out.write("</td>");
+                }
+                out.write("</tr>\n");
+            }
+            out.write("</table>\n</body>\n</html>\n");
+        }
+    }
+
+    private static final class EventCounter implements HtmlContentHandler {
+        private long elements;
+        private long chars;
+
+        @Override
+        public void startElement(String name, String tag) {
+            elements++;
+        }
+
+        @Override
+        public void endElement(String name, String tag) {
+        }
+
+        @Override
+        public void characters(char[] buffer, int offset, int length) {
+            chars += length;
+        }
+    }
+}
@@ -1,6 +1,19 @@
 package com.zanxus.javacodegeeks.patterns.compositepattern;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author zanxus
@@ -8,6 +21,17 @@ import java.util.List;
  * @create 2016-11-29-下午4:22
  */
 public abstract class HtmlTag {
+    protected static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int MAX_GATHER = 1024;
+    private static final int MAX_CACHED_LENGTH = 8192;
+    private static final BufferReclaimer reclaimer = new BufferReclaimer(DirectBufferPool.shared());
+
+    private HtmlTag parent;
+    private int slot = -1;
+    private boolean dirty = true;
+    private String rendered;
+    private long renderedLength = -1;
+
     public abstract String getTagName();
 
     public abstract void setStartTag(String tag);
@@ -30,6 +54,304 @@ public abstract class HtmlTag {
         throw new UnsupportedOperationException("Current operation is not support for this object");
     }
 
-    public abstract void generateHtml();
+    public void addChildTags(Collection<? extends HtmlTag> htmlTags) {
+        for (HtmlTag htmlTag : htmlTags) {
+            addChildTag(htmlTag);
+        }
+    }
+
+    public void removeChildTags(Collection<? extends HtmlTag> htmlTags) {
+        for (HtmlTag htmlTag : htmlTags) {
+            removeChildTag(htmlTag);
+        }
+    }
+
+    /**
+     * Position of {@code htmlTag} among this tag's children, or -1 if it is not one of them.
+     */
+    public int indexOfChildTag(HtmlTag htmlTag) {
+        return getChildren().indexOf(htmlTag);
+    }
+
+    public HtmlTag getParent() {
+        return parent;
+    }
+
+    /**
+     * Where this tag sits in its parent's {@link ChildList}, or -1 if it is in none.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Streams this tag, and its children, into {@code out}: one line for each start tag, element
+     * and end tag. Clean subtrees are spliced in from their cached output, so after a change only
+     * the path from the changed tag up to the root is rendered again. The tree is walked with
+     * {@link HtmlTagTraversal}, so its depth is not limited by the thread stack.
+     */
+    public void render(Appendable out) throws IOException {
+        HtmlTagTraversal.walk(this, new Renderer(out));
+    }
 
+    public void renderParallel(Appendable out) throws IOException {
+        renderParallel(out, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same output as {@link #render(Appendable)}, with subtrees rendered concurrently on
+     * {@code pool} into separate buffers that are then written in order. Trees of up to a couple
+     * of thousand tags render sequentially, as the split would cost more than it saves. The tree
+     * must not be modified while it renders.
+     */
+    public void renderParallel(Appendable out, ForkJoinPool pool) throws IOException {
+        RenderPlan.render(this, out, pool);
+    }
+
+    /**
+     * Writes the markup that precedes this tag's children and returns the number of chars written.
+     */
+    protected abstract long renderStart(Appendable out) throws IOException;
+
+    /**
+     * Writes the markup that follows this tag's children and returns the number of chars written.
+     */
+    protected long renderEnd(Appendable out) throws IOException {
+        return 0;
+    }
+
+    /**
+     * The tags to visit below this one; empty for leaves.
+     */
+    List<HtmlTag> children() {
+        return Collections.emptyList();
+    }
+
+    protected static long append(Appendable out, String s) throws IOException {
+        out.append(s);
+        return s == null ? 4 : s.length();
+    }
+
+    boolean isCached() {
+        return rendered != null;
+    }
+
+    /**
+     * Records the output of a tag that {@link RenderPlan} rendered as {@code pieces}, keeping the
+     * text itself only if it is short enough to cache.
+     */
+    void cacheRendered(List<CharSequence> pieces, long length) {
+        renderedLength = length;
+        dirty = false;
+        if (length <= MAX_CACHED_LENGTH) {
+            StringBuilder sb = new StringBuilder((int) length);
+            for (CharSequence piece : pieces) {
+                sb.append(piece);
+            }
+            rendered = sb.toString();
+        }
+    }
+
+    /**
+     * Drops the cached output of this tag and of every ancestor. The walk stops at the first
+     * tag that is already dirty, since its ancestors are dirty too.
+     */
+    protected void markDirty() {
+        for (HtmlTag tag = this; tag != null && !tag.dirty; tag = tag.parent) {
+            tag.dirty = true;
+            tag.rendered = null;
+        }
+    }
+
+    /**
+     * Links {@code child} under {@code parent}; a tag belongs to one parent at a time.
+     */
+    static void attach(HtmlTag parent, HtmlTag child) {
+        child.parent = parent;
+        parent.markDirty();
+    }
+
+    static void detach(HtmlTag parent, HtmlTag child) {
+        if (child.parent == parent) {
+            child.parent = null;
+        }
+        parent.markDirty();
+    }
+
+    /**
+     * This tag's pre-encoded UTF-8 markup preceding its children. Callers take a duplicate.
+     */
+    protected abstract ByteBuffer startBuffer();
+
+    /**
+     * This tag's pre-encoded UTF-8 markup following its children, or {@code null} if none.
+     */
+    protected ByteBuffer endBuffer() {
+        return null;
+    }
+
+    /**
+     * Writes the same output as {@link #render(Appendable)} as UTF-8 with gathering writes of
+     * the per-node buffers, so nothing is re-encoded or copied on the heap per render. The
+     * channel is expected to be in blocking mode. The tree must not be modified while it is
+     * walked; buffers that changes made during the writes release are kept from the pool until
+     * this call returns.
+     */
+    public void render(GatheringByteChannel channel) throws IOException {
+        long epoch = reclaimer.enter();
+        try {
+            gather(channel);
+        } finally {
+            reclaimer.exit(epoch);
+        }
+    }
+
+    private void gather(GatheringByteChannel channel) throws IOException {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        HtmlTagTraversal.walk(this, new HtmlTagVisitor<RuntimeException>() {
+            @Override
+            public boolean enter(HtmlTag tag) {
+                buffers.add(tag.startBuffer().duplicate());
+                return true;
+            }
+
+            @Override
+            public void exit(HtmlTag tag) {
+                ByteBuffer end = tag.endBuffer();
+                if (end != null) {
+                    buffers.add(end.duplicate());
+                }
+            }
+        });
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        for (int offset = 0; offset < array.length; ) {
+            int length = Math.min(MAX_GATHER, array.length - offset);
+            channel.write(array, offset, length);
+            while (offset < array.length && !array[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+    }
+
+    /**
+     * Copies the parts, as UTF-8, into one buffer from the shared {@link DirectBufferPool}.
+     */
+    protected static ByteBuffer encode(String... parts) {
+        byte[][] bytes = new byte[parts.length][];
+        int size = 0;
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i] = String.valueOf(parts[i]).getBytes(StandardCharsets.UTF_8);
+            size += bytes[i].length;
+        }
+        ByteBuffer buffer = DirectBufferPool.shared().acquire(size);
+        for (byte[] part : bytes) {
+            buffer.put(part);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer from {@link #encode} to the pool once no {@link #render(GatheringByteChannel)}
+     * that may still be writing it is in flight.
+     */
+    protected static void release(ByteBuffer buffer) {
+        if (buffer != null) {
+            reclaimer.retire(buffer);
+        }
+    }
+
+    public String toHtml() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            render(sb);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+        return sb.toString();
+    }
+
+    public void generateHtml() {
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+        try {
+            render(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders through the subtree cache. A tag learns its size on its first render; from then on
+     * tags of up to {@value #MAX_CACHED_LENGTH} chars keep their output, while larger ones stream
+     * and splice in their children, so no document is copied once per level of nesting. Output of
+     * cacheable tags is captured in one shared buffer, each tag keeping the slice it wrote unless
+     * it has since grown past the limit.
+     */
+    private static final class Renderer implements HtmlTagVisitor<IOException> {
+        private final Appendable out;
+        private StringBuilder capture;
+        private HtmlTag captureOwner;
+        private long[] lengths = new long[16];
+        private int[] captureStarts = new int[16];
+        private int top = -1;
+
+        Renderer(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public boolean enter(HtmlTag tag) throws IOException {
+            if (tag.rendered != null) {
+                target().append(tag.rendered);
+                if (top >= 0) {
+                    lengths[top] += tag.renderedLength;
+                }
+                return false;
+            }
+            if (++top == lengths.length) {
+                lengths = Arrays.copyOf(lengths, top * 2);
+                captureStarts = Arrays.copyOf(captureStarts, top * 2);
+            }
+            captureStarts[top] = -1;
+            if (tag.renderedLength >= 0 && tag.renderedLength <= MAX_CACHED_LENGTH) {
+                if (capture == null) {
+                    capture = new StringBuilder((int) tag.renderedLength);
+                    captureOwner = tag;
+                }
+                captureStarts[top] = capture.length();
+            }
+            lengths[top] = tag.renderStart(target());
+            return true;
+        }
+
+        @Override
+        public void exit(HtmlTag tag) throws IOException {
+            long length = lengths[top] + tag.renderEnd(target());
+            int captureStart = captureStarts[top--];
+            tag.renderedLength = length;
+            tag.dirty = false;
+            if (captureStart >= 0) {
+                if (length <= MAX_CACHED_LENGTH) {
+                    tag.rendered = capture.substring(captureStart);
+                }
+                if (captureOwner == tag) {
+                    out.append(capture);
+                    capture = null;
+                    captureOwner = null;
+                }
+            }
+            if (top >= 0) {
+                lengths[top] += length;
+            }
+        }
+
+        private Appendable target() {
+            return capture != null ? capture : out;
+        }
+    }
 }
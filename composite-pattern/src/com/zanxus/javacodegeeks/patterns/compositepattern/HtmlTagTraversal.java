@@ -0,0 +1,112 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @author zanxus
+ * @description Depth-first traversal of a tag tree on an explicit, array-backed stack, so the
+ * depth of a document is limited by the heap rather than the thread stack. On wide, shallow
+ * trees it is no faster than recursing through the children.
+ * @create 2026-10-20-上午10:40
+ */
+public final class HtmlTagTraversal {
+
+    private HtmlTagTraversal() {
+        throw new AssertionError("Can't instantiate the class");
+    }
+
+    /**
+     * Visits {@code root} and its descendants in document order, calling
+     * {@link HtmlTagVisitor#enter} on the way down and {@link HtmlTagVisitor#exit} on the way up.
+     */
+    @SuppressWarnings("unchecked")
+    public static <X extends Exception> void walk(HtmlTag root, HtmlTagVisitor<X> visitor) throws X {
+        if (!visitor.enter(root)) {
+            return;
+        }
+        List<HtmlTag> children = root.children();
+        if (children.isEmpty()) {
+            visitor.exit(root);
+            return;
+        }
+        HtmlTag[] tags = new HtmlTag[16];
+        Object[] lists = new Object[16];
+        int[] next = new int[16];
+        int top = 0;
+        tags[0] = root;
+        lists[0] = children;
+        while (top >= 0) {
+            int i = next[top];
+            if (i == children.size()) {
+                HtmlTag tag = tags[top];
+                tags[top] = null;
+                lists[top] = null;
+                if (--top >= 0) {
+                    children = (List<HtmlTag>) lists[top];
+                }
+                visitor.exit(tag);
+                continue;
+            }
+            next[top] = i + 1;
+            HtmlTag child = children.get(i);
+            if (!visitor.enter(child)) {
+                continue;
+            }
+            List<HtmlTag> grandChildren = child.children();
+            if (grandChildren.isEmpty()) {
+                visitor.exit(child);
+                continue;
+            }
+            if (++top == tags.length) {
+                tags = Arrays.copyOf(tags, top * 2);
+                lists = Arrays.copyOf(lists, top * 2);
+                next = Arrays.copyOf(next, top * 2);
+            }
+            tags[top] = child;
+            lists[top] = grandChildren;
+            next[top] = 0;
+            children = grandChildren;
+        }
+    }
+
+    /**
+     * Calls {@code action} for {@code root} and each descendant in document order.
+     */
+    public static void forEach(HtmlTag root, Consumer<? super HtmlTag> action) {
+        walk(root, tag -> {
+            action.accept(tag);
+            return true;
+        });
+    }
+
+    public static long size(HtmlTag root) {
+        long[] size = new long[1];
+        walk(root, tag -> {
+            size[0]++;
+            return true;
+        });
+        return size[0];
+    }
+
+    /**
+     * Number of tags on the longest path from {@code root} down to a leaf.
+     */
+    public static int depth(HtmlTag root) {
+        int[] depth = new int[2];
+        walk(root, new HtmlTagVisitor<RuntimeException>() {
+            @Override
+            public boolean enter(HtmlTag tag) {
+                depth[1] = Math.max(depth[1], ++depth[0]);
+                return true;
+            }
+
+            @Override
+            public void exit(HtmlTag tag) {
+                depth[0]--;
+            }
+        });
+        return depth[1];
+    }
+}
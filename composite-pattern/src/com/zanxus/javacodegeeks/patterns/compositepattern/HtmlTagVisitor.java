@@ -0,0 +1,22 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+/**
+ * @author zanxus
+ * @description Callback for {@link HtmlTagTraversal}. {@code X} is the checked exception the
+ * visitor may throw, inferred as {@link RuntimeException} for visitors that throw none.
+ * @create 2026-10-20-上午10:40
+ */
+public interface HtmlTagVisitor<X extends Exception> {
+
+    /**
+     * Called before the tag's children. Returning {@code false} skips the children and the
+     * matching {@link #exit}.
+     */
+    boolean enter(HtmlTag tag) throws X;
+
+    /**
+     * Called after the tag's children.
+     */
+    default void exit(HtmlTag tag) throws X {
+    }
+}
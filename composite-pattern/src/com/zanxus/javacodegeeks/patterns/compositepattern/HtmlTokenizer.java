@@ -0,0 +1,362 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * @author zanxus
+ * @description Streaming HTML tokenizer. Input is read through a fixed window of chars that only
+ * grows to hold a single tag longer than it, up to {@link #MAX_MARKUP_LENGTH} chars, and each tag,
+ * text run, comment and declaration is reported to an {@link HtmlContentHandler} as soon as it is
+ * complete, so documents of any size are tokenized in constant memory. A {@code <} that opens no
+ * tag within that length is passed on as text, and longer comments and declarations are passed
+ * on in pieces. The contents of {@code script}, {@code style},
+ * {@code textarea} and {@code title} are passed on as text. Entities are not decoded, and
+ * names and short tags are shared through a small cache, so repeated tags cost one string.
+ * @create 2026-10-20-下午4:00
+ */
+public final class HtmlTokenizer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CACHE_SIZE = 1024;
+    private static final int MAX_CACHED_LENGTH = 32;
+    private static final int MAX_MARKUP_LENGTH = 1 << 20;
+
+    private static final Set<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param",
+            "source", "track", "wbr"));
+    private static final Set<String> RAW_TEXT_ELEMENTS = new HashSet<>(Arrays.asList(
+            "script", "style", "textarea", "title"));
+
+    private final HtmlContentHandler handler;
+    private final String[] cache = new String[CACHE_SIZE];
+    private Reader reader;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    public HtmlTokenizer(HtmlContentHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Tokenizes a UTF-8 file through memory-mapped regions.
+     */
+    public void parse(Path file) throws IOException {
+        try (Reader in = new MappedFileReader(file)) {
+            parse(in);
+        }
+    }
+
+    /**
+     * Tokenizes everything {@code in} supplies. The reader is not closed.
+     */
+    public void parse(Reader in) throws IOException {
+        reader = in;
+        position = 0;
+        limit = 0;
+        try {
+            while (position < limit || fill()) {
+                if (buffer[position] == '<') {
+                    markup();
+                } else {
+                    text();
+                }
+            }
+            handler.endDocument();
+        } finally {
+            reader = null;
+        }
+    }
+
+    private void text() {
+        int start = position;
+        while (position < limit && buffer[position] != '<') {
+            position++;
+        }
+        handler.characters(buffer, start, position - start);
+    }
+
+    private void markup() throws IOException {
+        if (!ensure(2)) {
+            literal(1);
+            return;
+        }
+        char next = buffer[position + 1];
+        if (next == '!' && startsWith("<!--")) {
+            until("-->", 4, handler::comment);
+        } else if (next == '!' || next == '?') {
+            until(">", 2, handler::declaration);
+        } else if (next == '/') {
+            int end = tagEnd(2);
+            if (end < 0) {
+                unterminated();
+                return;
+            }
+            String name = name(2, end);
+            String tag = take(end + 1);
+            if (!name.isEmpty()) {
+                handler.endElement(name, tag);
+            }
+        } else if (isLetter(next)) {
+            int end = tagEnd(1);
+            if (end < 0) {
+                unterminated();
+                return;
+            }
+            String name = name(1, end);
+            boolean selfClosing = buffer[position + end - 1] == '/';
+            String tag = take(end + 1);
+            handler.startElement(name, tag);
+            if (selfClosing || VOID_ELEMENTS.contains(name)) {
+                handler.endElement(name, "");
+            } else if (RAW_TEXT_ELEMENTS.contains(name)) {
+                rawText(name);
+            }
+        } else {
+            literal(1);
+        }
+    }
+
+    /**
+     * Passes on text up to the matching end tag, which is left for {@link #markup}.
+     */
+    private void rawText(String name) throws IOException {
+        while (true) {
+            int i = position;
+            while (i < limit && buffer[i] != '<') {
+                i++;
+            }
+            if (i == limit) {
+                if (limit > position) {
+                    handler.characters(buffer, position, limit - position);
+                }
+                position = limit;
+                if (!fill()) {
+                    return;
+                }
+                continue;
+            }
+            int offset = i - position;
+            if (!ensure(offset + name.length() + 3)) {
+                literal(limit - position);
+                return;
+            }
+            if (isEndTagOf(offset, name)) {
+                if (offset > 0) {
+                    literal(offset);
+                }
+                return;
+            }
+            literal(offset + 1);
+        }
+    }
+
+    private boolean isEndTagOf(int offset, String name) {
+        int at = position + offset;
+        if (buffer[at + 1] != '/') {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(buffer[at + 2 + i]) != name.charAt(i)) {
+                return false;
+            }
+        }
+        char after = buffer[at + 2 + name.length()];
+        return after == '>' || after == '/' || Character.isWhitespace(after);
+    }
+
+    /**
+     * Offset of the {@code >} closing the tag at {@link #position}, or -1 if the input ends or
+     * {@link #MAX_MARKUP_LENGTH} chars pass first. A quote opens an attribute value only right
+     * after {@code =} and any whitespace, so an apostrophe in an unquoted value, as in
+     * {@code title=O'Brien}, does not hide the {@code >}.
+     */
+    private int tagEnd(int from) throws IOException {
+        char quote = 0;
+        boolean value = false;
+        for (int i = from; ; i++) {
+            if (i == MAX_MARKUP_LENGTH || position + i == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position + i];
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '>') {
+                return i;
+            } else if (c == '=') {
+                value = true;
+            } else if (value && (c == '"' || c == '\'')) {
+                quote = c;
+                value = false;
+            } else if (!Character.isWhitespace(c)) {
+                value = false;
+            }
+        }
+    }
+
+    /**
+     * Passes on a tag that {@link #tagEnd} found no end for: at the end of the input the rest is
+     * text, while a {@code <} with no {@code >} within {@link #MAX_MARKUP_LENGTH} chars is text
+     * by itself and tokenizing goes on after it.
+     */
+    private void unterminated() {
+        literal(limit - position < MAX_MARKUP_LENGTH ? limit - position : 1);
+    }
+
+    /**
+     * Passes the markup at {@link #position} up to and including {@code terminator} to
+     * {@code sink}, searching from {@code from}. Markup longer than {@link #MAX_MARKUP_LENGTH}
+     * chars is passed on in pieces of about that length, and markup the input ends in is passed
+     * on as it is.
+     */
+    private void until(String terminator, int from, Consumer<String> sink) throws IOException {
+        while (true) {
+            int end = indexOf(terminator, from);
+            if (end >= 0) {
+                sink.accept(take(end + terminator.length()));
+                return;
+            }
+            if (limit - position < MAX_MARKUP_LENGTH) {
+                sink.accept(take(limit - position));
+                return;
+            }
+            sink.accept(take(MAX_MARKUP_LENGTH - terminator.length() + 1));
+            from = 0;
+        }
+    }
+
+    /**
+     * Offset of {@code s} at or after {@code from}, relative to {@link #position}, or -1 if the
+     * input ends or {@link #MAX_MARKUP_LENGTH} chars pass first.
+     */
+    private int indexOf(String s, int from) throws IOException {
+        for (int i = from; ; i++) {
+            if (i + s.length() > MAX_MARKUP_LENGTH || !ensure(i + s.length())) {
+                return -1;
+            }
+            if (buffer[position + i] == s.charAt(0) && startsWith(i, s)) {
+                return i;
+            }
+        }
+    }
+
+    private boolean startsWith(String s) throws IOException {
+        return ensure(s.length()) && startsWith(0, s);
+    }
+
+    private boolean startsWith(int offset, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (buffer[position + offset + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower-case tag name starting at {@code from}, ending at whitespace, {@code /} or {@code >}.
+     */
+    private String name(int from, int end) {
+        int i = from;
+        while (i < end) {
+            char c = buffer[position + i];
+            if (c == '/' || Character.isWhitespace(c)) {
+                break;
+            }
+            i++;
+        }
+        return cached(position + from, i - from, true);
+    }
+
+    private String take(int length) {
+        String s = cached(position, length, false);
+        position += length;
+        return s;
+    }
+
+    private void literal(int length) {
+        handler.characters(buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Returns the chars as a string, from a direct-mapped cache for short strings.
+     */
+    private String cached(int offset, int length, boolean lowerCase) {
+        if (length > MAX_CACHED_LENGTH) {
+            String s = new String(buffer, offset, length);
+            return lowerCase ? s.toLowerCase(Locale.ROOT) : s;
+        }
+        int hash = lowerCase ? 1 : 0;
+        for (int i = 0; i < length; i++) {
+            char c = buffer[offset + i];
+            hash = 31 * hash + (lowerCase ? Character.toLowerCase(c) : c);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        String s = cache[slot];
+        if (s != null && s.length() == length && matches(s, offset, lowerCase)) {
+            return s;
+        }
+        s = new String(buffer, offset, length);
+        if (lowerCase) {
+            s = s.toLowerCase(Locale.ROOT);
+        }
+        cache[slot] = s;
+        return s;
+    }
+
+    private boolean matches(String s, int offset, boolean lowerCase) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = buffer[offset + i];
+            if ((lowerCase ? Character.toLowerCase(c) : c) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes at least {@code length} chars available from {@link #position}, reading as needed.
+     */
+    private boolean ensure(int length) throws IOException {
+        while (limit - position < length) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the unread chars to the front of the window, growing it if they fill it, and reads
+     * more. Offsets relative to {@link #position} stay valid.
+     */
+    private boolean fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (buffer.length - limit < 2) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,211 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author zanxus
+ * @description Builds {@link HtmlTag} trees from {@link HtmlTokenizer} events. An element stays
+ * pending until it either ends holding only text, becoming an {@link HtmlElement} with that text
+ * as its body, or gets a first child, becoming an {@link HtmlParentElement}. Text between the
+ * children of a parent becomes a {@code #text} element without tags that keeps the text as it
+ * is, and whitespace-only runs there are dropped; comments and declarations become
+ * {@code #comment} and {@code #declaration} elements. Elements left open get an empty end tag: a
+ * few start tags close an innermost element of the same kind, as {@code <li>} does an open
+ * {@code <li>}, and an end tag closes any elements still open inside it. An end tag matching no
+ * open element is ignored.
+ * @create 2026-10-20-下午4:00
+ */
+public class HtmlTreeBuilder implements HtmlContentHandler {
+    /**
+     * Open elements a start tag closes when they are innermost, as in {@code <li>one<li>two}.
+     */
+    private static final Map<String, Set<String>> IMPLIED_END = new HashMap<>();
+
+    static {
+        implies("li", "li");
+        implies("p", "p");
+        implies("option", "option");
+        implies("dt", "dt", "dd");
+        implies("dd", "dt", "dd");
+        implies("td", "td", "th");
+        implies("th", "td", "th");
+        implies("tr", "tr", "td", "th");
+    }
+
+    private final List<HtmlTag> roots = new ArrayList<>();
+    private final Deque<Frame> open = new ArrayDeque<>();
+    private final StringBuilder text = new StringBuilder();
+
+    public static List<HtmlTag> parse(Reader in) throws IOException {
+        HtmlTreeBuilder builder = new HtmlTreeBuilder();
+        new HtmlTokenizer(builder).parse(in);
+        return builder.getRoots();
+    }
+
+    public static List<HtmlTag> parse(Path file) throws IOException {
+        HtmlTreeBuilder builder = new HtmlTreeBuilder();
+        new HtmlTokenizer(builder).parse(file);
+        return builder.getRoots();
+    }
+
+    /**
+     * The top-level tags of the document, complete once the tokenizer has finished.
+     */
+    public List<HtmlTag> getRoots() {
+        return Collections.unmodifiableList(roots);
+    }
+
+    @Override
+    public void startElement(String name, String tag) {
+        Set<String> closes = IMPLIED_END.get(name);
+        while (closes != null && !open.isEmpty() && closes.contains(open.peek().name)) {
+            close(open.pop(), "");
+        }
+        promote();
+        open.push(new Frame(name, tag, open.peek()));
+    }
+
+    @Override
+    public void endElement(String name, String tag) {
+        boolean matched = false;
+        for (Frame frame : open) {
+            if (frame.name.equals(name)) {
+                matched = true;
+                break;
+            }
+        }
+        if (!matched) {
+            return;
+        }
+        while (!open.peek().name.equals(name)) {
+            close(open.pop(), "");
+        }
+        close(open.pop(), tag);
+    }
+
+    @Override
+    public void characters(char[] buffer, int offset, int length) {
+        text.append(buffer, offset, length);
+    }
+
+    @Override
+    public void comment(String markup) {
+        leaf("#comment", markup);
+    }
+
+    @Override
+    public void declaration(String markup) {
+        leaf("#declaration", markup);
+    }
+
+    @Override
+    public void endDocument() {
+        while (!open.isEmpty()) {
+            close(open.pop(), "");
+        }
+        flushText(null);
+    }
+
+    /**
+     * Turns the innermost open element into a parent, as it is about to get a child, and moves
+     * the text it has collected so far into a text element.
+     */
+    private void promote() {
+        Frame frame = open.peek();
+        if (frame != null && frame.element == null) {
+            frame.element = new HtmlParentElement(frame.name);
+            frame.element.setStartTag(frame.tag);
+            attach(frame.element, frame.parent);
+        }
+        flushText(frame);
+    }
+
+    private void close(Frame frame, String endTag) {
+        if (frame.element != null) {
+            flushText(frame);
+            frame.element.setEndTag(endTag);
+            return;
+        }
+        HtmlTag element = new HtmlElement(frame.name);
+        element.setStartTag(frame.tag);
+        element.setTagBody(text.toString());
+        element.setEndTag(endTag);
+        text.setLength(0);
+        attach(element, frame.parent);
+    }
+
+    private void leaf(String name, String markup) {
+        promote();
+        HtmlTag element = new HtmlElement(name);
+        element.setStartTag(markup);
+        element.setTagBody("");
+        element.setEndTag("");
+        attach(element, open.peek());
+    }
+
+    /**
+     * Moves non-blank text collected so far into a text element under {@code frame}.
+     */
+    private void flushText(Frame frame) {
+        if (isBlank(text)) {
+            text.setLength(0);
+            return;
+        }
+        HtmlTag element = new HtmlElement("#text");
+        element.setStartTag("");
+        element.setTagBody(text.toString());
+        element.setEndTag("");
+        text.setLength(0);
+        attach(element, frame);
+    }
+
+    /**
+     * Adds {@code tag} to the element of {@code parent}, which has already been promoted, or to
+     * the roots if {@code parent} is {@code null}.
+     */
+    private void attach(HtmlTag tag, Frame parent) {
+        if (parent == null) {
+            roots.add(tag);
+        } else {
+            parent.element.addChildTag(tag);
+        }
+    }
+
+    private static void implies(String name, String... closes) {
+        IMPLIED_END.put(name, new HashSet<>(Arrays.asList(closes)));
+    }
+
+    private static boolean isBlank(CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isWhitespace(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Frame {
+        private final String name;
+        private final String tag;
+        private final Frame parent;
+        private HtmlParentElement element;
+
+        Frame(String name, String tag, Frame parent) {
+            this.name = name;
+            this.tag = tag;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author zanxus
+ * @description Re-renders a dashboard table after changing a handful of cells, and after changing
+ * every cell, which costs as much as rendering without the subtree cache.
+ * @create 2026-10-20-上午10:05
+ */
+public class IncrementalRenderBenchmark {
+    private static final int ROWS = 2000;
+    private static final int COLUMNS = 10;
+    private static final int CHANGED_CELLS = 5;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        int[][] values = new int[ROWS][COLUMNS];
+        HtmlTag table = dashboard(values);
+        Random random = new Random(42);
+        StringBuilder out = new StringBuilder();
+
+        for (int pass = 0; pass < 5; pass++) {
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                List<HtmlTag> rows = table.getChildren();
+                for (int r = 0; r < ROWS; r++) {
+                    for (int c = 0; c < COLUMNS; c++) {
+                        set(rows, values, r, c, random.nextInt(1000));
+                    }
+                }
+                out.setLength(0);
+                render(table, out);
+            }
+            long full = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                List<HtmlTag> rows = table.getChildren();
+                for (int i = 0; i < CHANGED_CELLS; i++) {
+                    set(rows, values, random.nextInt(ROWS), random.nextInt(COLUMNS), random.nextInt(1000));
+                }
+                out.setLength(0);
+                render(table, out);
+            }
+            long incremental = System.nanoTime() - start;
+
+            if (!out.toString().equals(dashboard(values).toHtml())) {
+                throw new IllegalStateException("Cached render differs from a fresh render");
+            }
+            System.out.printf("all cells changed: %7.1f us/render   %d cells changed: %7.1f us/render%n",
+                    full / 1e3 / ROUNDS, CHANGED_CELLS, incremental / 1e3 / ROUNDS);
+        }
+    }
+
+    private static void render(HtmlTag tag, StringBuilder out) {
+        try {
+            tag.render(out);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+    }
+
+    private static void set(List<HtmlTag> rows, int[][] values, int row, int column, int value) {
+        values[row][column] = value;
+        rows.get(row).getChildren().get(column).setTagBody(Integer.toString(value));
+    }
+
+    private static HtmlTag dashboard(int[][] values) {
+        HtmlTag table = new HtmlParentElement("<table>");
+        table.setStartTag("<table>");
+        table.setEndTag("</table>");
+        for (int r = 0; r < ROWS; r++) {
+            HtmlTag row = new HtmlParentElement("<tr>");
+            row.setStartTag("<tr>");
+            row.setEndTag("</tr>");
+            for (int c = 0; c < COLUMNS; c++) {
+                HtmlTag cell = new HtmlElement("<td>");
+                cell.setStartTag("<td>");
+                cell.setEndTag("</td>");
+                cell.setTagBody(Integer.toString(values[r][c]));
+                row.addChildTag(cell);
+            }
+            table.addChildTag(row);
+        }
+        return table;
+    }
+}
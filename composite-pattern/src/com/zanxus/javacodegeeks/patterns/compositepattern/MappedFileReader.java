@@ -0,0 +1,76 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author zanxus
+ * @description Decodes a UTF-8 file straight out of memory-mapped regions of up to 256 MB, so a
+ * large file is read without copying it through a heap byte buffer. A sequence split by a region
+ * boundary is picked up by mapping the next region from its first byte. Malformed input is
+ * replaced with U+FFFD.
+ * @create 2026-10-20-下午4:00
+ */
+final class MappedFileReader extends Reader {
+    private static final long REGION_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private MappedByteBuffer region;
+    private long regionStart;
+    private boolean finished;
+
+    MappedFileReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        size = channel.size();
+        map(0);
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+        while (out.position() == offset) {
+            if (finished) {
+                return -1;
+            }
+            boolean last = regionStart + region.limit() == size;
+            CoderResult result = decoder.decode(region, out, last);
+            if (result.isUnderflow()) {
+                if (last) {
+                    decoder.flush(out);
+                    finished = true;
+                } else {
+                    map(regionStart + region.position());
+                }
+            } else if (out.position() == offset) {
+                throw new IllegalArgumentException("Buffer too small for one character: " + length);
+            }
+        }
+        return out.position() - offset;
+    }
+
+    private void map(long start) throws IOException {
+        regionStart = start;
+        region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_SIZE, size - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author zanxus
+ * @description Renders a wide report page with {@link HtmlTag#render(Appendable)} and
+ * {@link HtmlTag#renderParallel(Appendable, ForkJoinPool)}, changing every cell before each render
+ * so that neither is served from the subtree cache.
+ * @create 2026-10-20-下午3:30
+ */
+public class ParallelRenderBenchmark {
+    private static final int ROWS = 20_000;
+    private static final int COLUMNS = 10;
+
+    public static void main(String[] args) throws IOException {
+        HtmlTag page = new HtmlParentElement("html");
+        page.setStartTag("<html>");
+        page.setEndTag("</html>");
+        HtmlTag table = new HtmlParentElement("table");
+        table.setStartTag("<table>");
+        table.setEndTag("</table>");
+        page.addChildTag(table);
+        for (int r = 0; r < ROWS; r++) {
+            HtmlTag row = new HtmlParentElement("tr");
+            row.setStartTag("<tr>");
+            row.setEndTag("</tr>");
+            for (int c = 0; c < COLUMNS; c++) {
+                HtmlTag cell = new HtmlElement("td");
+                cell.setStartTag("<td>");
+                cell.setEndTag("</td>");
+                row.addChildTag(cell);
+            }
+            table.addChildTag(row);
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        System.out.printf("%,d tags, parallelism %d%n", HtmlTagTraversal.size(page), pool.getParallelism());
+        for (int round = 0; round < 10; round++) {
+            touch(table, round);
+            StringBuilder sequential = new StringBuilder();
+            long start = System.nanoTime();
+            page.render(sequential);
+            long sequentialNanos = System.nanoTime() - start;
+
+            touch(table, round + 1);
+            StringBuilder parallel = new StringBuilder();
+            start = System.nanoTime();
+            page.renderParallel(parallel, pool);
+            long parallelNanos = System.nanoTime() - start;
+
+            if (!page.toHtml().contentEquals(parallel)) {
+                throw new IllegalStateException("Parallel render left a stale cache");
+            }
+            touch(table, round);
+            if (!page.toHtml().contentEquals(sequential)) {
+                throw new IllegalStateException("Parallel render differs from the sequential one");
+            }
+            System.out.printf("sequential %7.2f ms   parallel %7.2f ms (%,d chars)%n",
+                    sequentialNanos / 1e6, parallelNanos / 1e6, parallel.length());
+        }
+    }
+
+    private static void touch(HtmlTag table, int round) {
+        List<HtmlTag> rows = table.getChildren();
+        for (int r = 0; r < rows.size(); r++) {
+            List<HtmlTag> cells = rows.get(r).getChildren();
+            for (int c = 0; c < cells.size(); c++) {
+                cells.get(c).setTagBody(Integer.toString(r * COLUMNS + c + round));
+            }
+        }
+    }
+}
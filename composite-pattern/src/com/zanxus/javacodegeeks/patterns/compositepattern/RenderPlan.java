@@ -0,0 +1,194 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author zanxus
+ * @description Splits a tag tree for {@link HtmlTag#renderParallel}. One pass sizes every tag with
+ * children, recording the sizes in the order the tags are entered, and so finds those with more
+ * than {@link #THRESHOLD} tags below them.
+ * Those are descended into and contribute their start and end markup as literal pieces; the
+ * smaller subtrees under them, and cached subtrees, are grouped into batches of about that many
+ * tags in document order, using the sizes from the first pass. Batches render concurrently into
+ * their own buffers, which are then written out in order with the literals, and the large tags
+ * then record their output like tags rendered sequentially.
+ * @create 2026-10-20-下午3:00
+ */
+final class RenderPlan {
+    static final int THRESHOLD = 2048;
+
+    private final List<Object> pieces = new ArrayList<>();
+    private final List<Batch> batches = new ArrayList<>();
+    private final List<Span> spans = new ArrayList<>();
+    private long[] sizes = new long[16];
+    private int[] ends = new int[16];
+    private int count;
+    private Batch batch;
+
+    private RenderPlan() {
+    }
+
+    static void render(HtmlTag root, Appendable out, ForkJoinPool pool) throws IOException {
+        RenderPlan plan = new RenderPlan();
+        plan.size(root);
+        if (plan.count == 0 || plan.sizes[0] <= THRESHOLD) {
+            root.render(out);
+            return;
+        }
+        plan.split(root);
+        Batch[] batches = plan.batches.toArray(new Batch[0]);
+        pool.invoke(new SubtreeRendering(batches, 0, batches.length));
+        List<CharSequence> output = new ArrayList<>(plan.pieces.size());
+        for (Object piece : plan.pieces) {
+            output.add(piece instanceof Batch ? ((Batch) piece).output : (CharSequence) piece);
+        }
+        for (CharSequence piece : output) {
+            out.append(piece);
+        }
+        plan.cacheLarge(output);
+    }
+
+    /**
+     * Sums subtree sizes bottom-up, counting a cached subtree as one tag. Each tag with children
+     * gets the next index on the way down; its size and the index following its subtree are
+     * stored there on the way up. Leaves and cached tags are added to their parent's sum without
+     * an index of their own.
+     */
+    private void size(HtmlTag root) {
+        HtmlTagTraversal.walk(root, new HtmlTagVisitor<RuntimeException>() {
+            private int[] indexes = new int[16];
+            private int top = -1;
+
+            @Override
+            public boolean enter(HtmlTag tag) {
+                if (tag.isCached() || tag.children().isEmpty()) {
+                    if (top >= 0) {
+                        sizes[indexes[top]]++;
+                    }
+                    return false;
+                }
+                if (++top == indexes.length) {
+                    indexes = Arrays.copyOf(indexes, top * 2);
+                }
+                if (count == sizes.length) {
+                    sizes = Arrays.copyOf(sizes, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                indexes[top] = count;
+                sizes[count++] = 1;
+                return true;
+            }
+
+            @Override
+            public void exit(HtmlTag tag) {
+                int index = indexes[top--];
+                ends[index] = count;
+                if (top >= 0) {
+                    sizes[indexes[top]] += sizes[index];
+                }
+            }
+        });
+    }
+
+    /**
+     * Walks the tree in the same order as {@link #size}, following the indexes with a cursor that
+     * skips over the subtrees it does not descend into.
+     */
+    private void split(HtmlTag root) throws IOException {
+        HtmlTagTraversal.walk(root, new HtmlTagVisitor<IOException>() {
+            private int cursor;
+            private int[] starts = new int[16];
+            private int top = -1;
+
+            @Override
+            public boolean enter(HtmlTag tag) throws IOException {
+                if (tag.isCached() || tag.children().isEmpty()) {
+                    add(tag, 1);
+                    return false;
+                }
+                int index = cursor;
+                if (sizes[index] <= THRESHOLD) {
+                    add(tag, sizes[index]);
+                    cursor = ends[index];
+                    return false;
+                }
+                cursor++;
+                if (++top == starts.length) {
+                    starts = Arrays.copyOf(starts, top * 2);
+                }
+                starts[top] = pieces.size();
+                StringBuilder start = new StringBuilder();
+                tag.renderStart(start);
+                literal(start);
+                return true;
+            }
+
+            @Override
+            public void exit(HtmlTag tag) throws IOException {
+                StringBuilder end = new StringBuilder();
+                tag.renderEnd(end);
+                literal(end);
+                spans.add(new Span(tag, starts[top--], pieces.size()));
+            }
+        });
+    }
+
+    private void add(HtmlTag tag, long size) {
+        if (batch == null) {
+            batch = new Batch();
+            batches.add(batch);
+            pieces.add(batch);
+        }
+        batch.tags.add(tag);
+        batch.size += size;
+        if (batch.size >= THRESHOLD) {
+            batch = null;
+        }
+    }
+
+    private void literal(CharSequence markup) {
+        batch = null;
+        if (markup.length() > 0) {
+            pieces.add(markup);
+        }
+    }
+
+    /**
+     * Lets each large tag record the length of its pieces, summed through prefix sums so that
+     * nested large tags do not add them up again.
+     */
+    private void cacheLarge(List<CharSequence> output) {
+        long[] offsets = new long[output.size() + 1];
+        for (int i = 0; i < output.size(); i++) {
+            offsets[i + 1] = offsets[i] + output.get(i).length();
+        }
+        for (Span span : spans) {
+            span.tag.cacheRendered(output.subList(span.from, span.to), offsets[span.to] - offsets[span.from]);
+        }
+    }
+
+    static final class Batch {
+        final List<HtmlTag> tags = new ArrayList<>();
+        final StringBuilder output = new StringBuilder();
+        long size;
+    }
+
+    /**
+     * The pieces, from {@code from} up to {@code to}, that make up a large tag's output.
+     */
+    private static final class Span {
+        final HtmlTag tag;
+        final int from;
+        final int to;
+
+        Span(HtmlTag tag, int from, int to) {
+            this.tag = tag;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
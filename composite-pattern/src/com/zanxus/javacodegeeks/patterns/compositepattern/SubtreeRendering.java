@@ -0,0 +1,47 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @author zanxus
+ * @description Renders the batches of a {@link RenderPlan}, splitting the range into halves until
+ * one batch is left. Each batch renders into its own buffer, and batches cover disjoint subtrees,
+ * so tasks never touch the same tag.
+ * @create 2026-10-20-下午3:00
+ */
+class SubtreeRendering extends RecursiveAction {
+    private static final long serialVersionUID = -679386488902012364L;
+
+    private final RenderPlan.Batch[] batches;
+    private final int from;
+    private final int to;
+
+    SubtreeRendering(RenderPlan.Batch[] batches, int from, int to) {
+        this.batches = batches;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= 1) {
+            for (int i = from; i < to; i++) {
+                renderBatch(batches[i]);
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new SubtreeRendering(batches, from, mid), new SubtreeRendering(batches, mid, to));
+    }
+
+    private static void renderBatch(RenderPlan.Batch batch) {
+        try {
+            for (HtmlTag tag : batch.tags) {
+                tag.render(batch.output);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+    }
+}
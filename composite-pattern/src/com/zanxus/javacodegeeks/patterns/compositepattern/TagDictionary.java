@@ -0,0 +1,42 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author zanxus
+ * @description Interns tag strings to dense ids, so a document repeating a few distinct start
+ * and end tags millions of times keeps one copy of each. {@code null} maps to {@link #NULL}.
+ * @create 2026-10-20-下午1:30
+ */
+final class TagDictionary {
+    static final int NULL = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] strings = new String[64];
+
+    int intern(String s) {
+        if (s == null) {
+            return NULL;
+        }
+        Integer id = ids.get(s);
+        if (id == null) {
+            id = ids.size();
+            if (id == strings.length) {
+                strings = Arrays.copyOf(strings, id * 2);
+            }
+            strings[id] = s;
+            ids.put(s, id);
+        }
+        return id;
+    }
+
+    String get(int id) {
+        return id == NULL ? null : strings[id];
+    }
+
+    int size() {
+        return ids.size();
+    }
+}
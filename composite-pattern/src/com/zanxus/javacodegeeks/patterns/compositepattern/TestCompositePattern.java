@@ -1,5 +1,14 @@
 package com.zanxus.javacodegeeks.patterns.compositepattern;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
 /**
  * @author zanxus
  * @description
@@ -7,7 +16,7 @@ package com.zanxus.javacodegeeks.patterns.compositepattern;
  */
 public class TestCompositePattern {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         HtmlTag parentTag = new HtmlParentElement("<html>");
         parentTag.setStartTag("<html>");
         parentTag.setEndTag("</html>");
@@ -31,5 +40,47 @@ public class TestCompositePattern {
         p1.addChildTag(child1);
 
         parentTag.generateHtml();
+
+        Path file = Files.createTempFile("composite", ".html");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            parentTag.render(channel);
+        }
+        System.out.println("Written to " + file + ": " + Files.size(file) + " bytes, matches render: "
+                + new String(Files.readAllBytes(file), StandardCharsets.UTF_8).equals(parentTag.toHtml()));
+        Files.delete(file);
+
+        child1.setTagBody("Paragraph 2, edited");
+        parentTag.generateHtml();
+
+        StringBuilder parallel = new StringBuilder();
+        parentTag.renderParallel(parallel);
+        System.out.println("renderParallel matches render: " + parallel.toString().equals(parentTag.toHtml()));
+
+        String cachedBefore = parentTag.toHtml();
+        child1.setTagBody(String.join("", Collections.nCopies(1 << 20, "x")));
+        String grown = parentTag.toHtml();
+        System.out.println("Grown past the cache limit, still cached: " + parentTag.isCached() + " "
+                + p1.isCached() + " " + child1.isCached() + ", renders again the same: "
+                + parentTag.toHtml().equals(grown));
+        child1.setTagBody("Paragraph 2, edited");
+        boolean shrunk = parentTag.toHtml().equals(cachedBefore);
+        parentTag.toHtml();
+        System.out.println("Shrunk back, renders as before: " + shrunk + ", cached again: " + parentTag.isCached());
+
+        HtmlTag parsed = HtmlTreeBuilder.parse(new StringReader(parentTag.toHtml())).get(0);
+        System.out.println("Parsed back, renders the same: " + parsed.toHtml().equals(parentTag.toHtml()));
+
+        HtmlArena arena = new HtmlArena();
+        int html = arena.addParentElement(HtmlArena.NONE, "<html>");
+        arena.setStartTag(html, "<html>");
+        arena.setEndTag(html, "</html>");
+        int body = arena.addParentElement(html, "<body>");
+        arena.setStartTag(body, "<body>");
+        arena.setEndTag(body, "</body>");
+        int p = arena.addElement(body, "<p>");
+        arena.setStartTag(p, "<p>");
+        arena.setEndTag(p, "</p>");
+        arena.setTagBody(p, "Rendered from an arena");
+        arena.view(html).generateHtml();
     }
 }
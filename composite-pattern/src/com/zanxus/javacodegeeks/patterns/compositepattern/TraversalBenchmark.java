@@ -0,0 +1,102 @@
+package com.zanxus.javacodegeeks.patterns.compositepattern;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * @author zanxus
+ * @description Times {@link HtmlTagTraversal} against recursion through
+ * {@code getChildren().forEach(...)} on a wide tree, where the two cost about the same, then
+ * renders a chain a million tags deep, which the recursive walk cannot reach the bottom of.
+ * @create 2026-10-20-上午11:10
+ */
+public class TraversalBenchmark {
+    private static final int WIDTH = 1000;
+    private static final int DEEP = 1_000_000;
+
+    private static long visited;
+
+    public static void main(String[] args) throws IOException {
+        HtmlTag wide = new HtmlParentElement("<body>");
+        for (int i = 0; i < WIDTH; i++) {
+            HtmlTag div = new HtmlParentElement("<div>");
+            for (int j = 0; j < WIDTH; j++) {
+                div.addChildTag(new HtmlElement("<p>"));
+            }
+            wide.addChildTag(div);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            visited = 0;
+            recursive(wide);
+            long recursive = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long size = HtmlTagTraversal.size(wide);
+            long iterative = System.nanoTime() - start;
+
+            if (size != visited) {
+                throw new IllegalStateException("Traversals disagree");
+            }
+            System.out.printf("%,d tags   forEach recursion: %6.2f ms   HtmlTagTraversal: %6.2f ms%n",
+                    size, recursive / 1e6, iterative / 1e6);
+        }
+
+        HtmlTag root = new HtmlParentElement("<div>");
+        root.setStartTag("<div>");
+        root.setEndTag("</div>");
+        HtmlTag tag = root;
+        for (int i = 1; i < DEEP; i++) {
+            HtmlTag child = new HtmlParentElement("<div>");
+            child.setStartTag("<div>");
+            child.setEndTag("</div>");
+            tag.addChildTag(child);
+            tag = child;
+        }
+        try {
+            visited = 0;
+            recursive(root);
+            System.out.println("forEach recursion reached the bottom of the chain");
+        } catch (StackOverflowError e) {
+            System.out.println("forEach recursion: StackOverflowError");
+        }
+        for (int round = 0; round < 3; round++) {
+            CountingWriter out = new CountingWriter();
+            long start = System.nanoTime();
+            root.render(out);
+            System.out.printf("rendered %,d tags deep: %,d chars in %.1f ms, depth %,d%n",
+                    DEEP, out.count, (System.nanoTime() - start) / 1e6, HtmlTagTraversal.depth(root));
+        }
+    }
+
+    private static void recursive(HtmlTag tag) {
+        visited++;
+        if (tag instanceof HtmlParentElement) {
+            tag.getChildren().forEach(TraversalBenchmark::recursive);
+        }
+    }
+
+    private static final class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public Writer append(CharSequence s) {
+            count += s.length();
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
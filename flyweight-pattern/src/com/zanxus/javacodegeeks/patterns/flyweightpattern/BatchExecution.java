@@ -0,0 +1,53 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a batch into halves until it is small enough to run serially. Each slot of the result
+ * array belongs to one submission index, so results come back in submission order.
+ *
+ * @author root
+ * @create 2026-10-19 12:15 PM
+ */
+class BatchExecution extends RecursiveAction {
+
+    private static final long serialVersionUID = -2053600547427231763L;
+
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    private final Platform platform;
+    private final Code[] codes;
+    private final ExecutionResult[] results;
+    private final int from;
+    private final int to;
+
+    BatchExecution(Platform platform, Code[] codes, ExecutionResult[] results, int from, int to) {
+        this.platform = platform;
+        this.codes = codes;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= SEQUENTIAL_THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                results[i] = executeOne(codes[i]);
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new BatchExecution(platform, codes, results, from, mid),
+                new BatchExecution(platform, codes, results, mid, to));
+    }
+
+    private ExecutionResult executeOne(Code code) {
+        try {
+            platform.execute(code);
+            return new ExecutionResult(code, null);
+        } catch (RuntimeException e) {
+            return new ExecutionResult(code, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+/**
+ * @author root
+ * @create 2026-10-19 2:05 PM
+ */
+public class CPlatformProvider implements PlatformProvider {
+
+    @Override
+    public String getPlatformType() {
+        return "C";
+    }
+
+    @Override
+    public Platform createPlatform() {
+        return new CPlatform();
+    }
+}
@@ -8,11 +8,21 @@ public class Code {
 
     private String code;
 
+    public Code() {
+    }
+
+    public Code(String code) {
+        setCode(code);
+    }
+
     public String getCode() {
         return code;
     }
 
+    /**
+     * Bodies are interned through {@link CodePool}, so identical snippets share one backing array.
+     */
     public void setCode(String code) {
-        this.code = code;
+        this.code = CodePool.intern(code);
     }
 }
@@ -0,0 +1,62 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional off-heap store for code bodies. Bodies are appended as UTF-8 into direct
+ * {@link ByteBuffer} chunks, so the GC only sees the chunk objects and the small
+ * {@link CodeHandle}s, not the snippet text itself. Chunks are released with the arena.
+ *
+ * @author root
+ * @create 2026-10-19 1:05 PM
+ */
+public final class CodeArena {
+
+    private static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long usedBytes;
+
+    public CodeArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public CodeArena(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public CodeHandle store(String body) {
+        return store(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public synchronized CodeHandle store(byte[] utf8) {
+        if (current == null || current.remaining() < utf8.length) {
+            current = ByteBuffer.allocateDirect(Math.max(chunkSize, utf8.length));
+            chunks.add(current);
+        }
+        int offset = current.position();
+        current.put(utf8);
+        usedBytes += utf8.length;
+        return new CodeHandle(this, chunks.size() - 1, offset, utf8.length);
+    }
+
+    synchronized ByteBuffer chunk(int index) {
+        return chunks.get(index);
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int getChunkCount() {
+        return chunks.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lightweight reference to a UTF-8 code body stored in a {@link CodeArena}.
+ *
+ * @author root
+ * @create 2026-10-19 1:10 PM
+ */
+public final class CodeHandle {
+
+    private final CodeArena arena;
+    private final int chunk;
+    private final int offset;
+    private final int length;
+    private int contentHash;
+
+    CodeHandle(CodeArena arena, int chunk, int offset, int length) {
+        this.arena = arena;
+        this.chunk = chunk;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a read-only view of the body bytes without copying them onto the heap.
+     */
+    public ByteBuffer bytes() {
+        ByteBuffer view = arena.chunk(chunk).duplicate();
+        view.limit(offset + length).position(offset);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Hash of the body bytes, computed once; arena bodies never change after they are stored.
+     */
+    int contentHash() {
+        int h = contentHash;
+        if (h == 0) {
+            h = bytes().hashCode();
+            contentHash = h;
+        }
+        return h;
+    }
+
+    public Code toCode() {
+        return new Code(toString());
+    }
+
+    @Override
+    public String toString() {
+        return StandardCharsets.UTF_8.decode(bytes()).toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Deduplicating intern pool for code bodies. Entries are held weakly, so a body is dropped
+ * once no {@link Code} references it. The pool is split into independently locked stripes.
+ *
+ * @author root
+ * @create 2026-10-19 11:20 AM
+ */
+public final class CodePool {
+
+    private static final int STRIPES = 16;
+
+    @SuppressWarnings("unchecked")
+    private static final Map<String, WeakReference<String>>[] stripes =
+            (Map<String, WeakReference<String>>[]) new Map<?, ?>[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+    }
+
+    private CodePool() {
+        throw new AssertionError("Can't instantiate the class");
+    }
+
+    public static String intern(String body) {
+        if (body == null) {
+            return null;
+        }
+        int h = body.hashCode();
+        Map<String, WeakReference<String>> stripe = stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            WeakReference<String> ref = stripe.get(body);
+            String pooled = ref == null ? null : ref.get();
+            if (pooled == null) {
+                stripe.put(body, new WeakReference<>(body));
+                pooled = body;
+            }
+            return pooled;
+        }
+    }
+
+    public static int size() {
+        int size = 0;
+        for (Map<String, WeakReference<String>> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,52 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.lang.ref.Reference;
+
+/**
+ * Reports the heap held by a large set of duplicated code bodies with and without {@link CodePool}.
+ *
+ * @author root
+ * @create 2026-10-19 11:35 AM
+ */
+public class CodePoolHeapHarness {
+
+    private static final int SNIPPETS = 1_000_000;
+    private static final int DISTINCT = 1_000;
+
+    public static void main(String[] args) {
+        long baseline = usedHeap();
+        String[] raw = new String[SNIPPETS];
+        for (int i = 0; i < SNIPPETS; i++) {
+            raw[i] = body(i % DISTINCT);
+        }
+        long rawBytes = usedHeap() - baseline;
+        raw = null;
+
+        baseline = usedHeap();
+        Code[] pooled = new Code[SNIPPETS];
+        for (int i = 0; i < SNIPPETS; i++) {
+            pooled[i] = new Code(body(i % DISTINCT));
+        }
+        long pooledBytes = usedHeap() - baseline;
+
+        System.out.printf("%,d snippets, %,d distinct bodies (%,d pooled)%n", SNIPPETS, DISTINCT, CodePool.size());
+        System.out.printf("raw strings : %,15d bytes%n", rawBytes);
+        System.out.printf("pooled Code : %,15d bytes%n", pooledBytes);
+        System.out.printf("reduction   : %14.1f%%%n", 100.0 * (rawBytes - pooledBytes) / rawBytes);
+        Reference.reachabilityFence(pooled);
+    }
+
+    private static String body(int n) {
+        return new StringBuilder("public class Snippet").append(n)
+                .append(" { public static void main(String[] args) { System.out.println(\"snippet\"); } }")
+                .toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,30 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+/**
+ * Prepared form of a {@link Code} snippet, shared by every execution of an identical body.
+ *
+ * @author root
+ * @create 2026-10-19 10:40 AM
+ */
+public final class CompiledCode {
+
+    private final String platformType;
+    private final byte[] artifact;
+
+    public CompiledCode(String platformType, byte[] artifact) {
+        this.platformType = platformType;
+        this.artifact = artifact;
+    }
+
+    public String getPlatformType() {
+        return platformType;
+    }
+
+    public byte[] getArtifact() {
+        return artifact;
+    }
+
+    public int size() {
+        return artifact.length;
+    }
+}
@@ -0,0 +1,250 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Content-addressed cache of {@link CompiledCode}, keyed by platform type plus the code body.
+ * Lookups use the body's cached {@link String#hashCode()} and, since bodies are interned through
+ * {@link CodePool}, usually an identity check, so a hit neither digests nor copies the source.
+ * Bodies held in a {@link CodeArena} are keyed by their UTF-8 bytes and compared in place, so a
+ * hit reads them off-heap and only a miss copies them; they do not share entries with heap bodies.
+ * Hits are lock-free reads of a {@link ConcurrentHashMap}. The cache is split into stripes that
+ * each own an equal share of the byte bound, counting the retained key as well as the artifact,
+ * and evict under their own lock in second-chance (clock) order, an approximation of LRU.
+ *
+ * @author root
+ * @create 2026-10-19 10:42 AM
+ */
+public final class CompiledCodeCache {
+
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int STRIPES = 16;
+    private static final CompiledCodeCache instance = new CompiledCodeCache(DEFAULT_MAX_BYTES);
+
+    private final long maxBytes;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CompiledCodeCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        long stripeBytes = Math.max(1, maxBytes / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeBytes);
+        }
+    }
+
+    public static CompiledCodeCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the cached artifact for this platform and body, compiling it outside any lock
+     * on a miss. Concurrent misses on the same key may both compile; the first one stored wins.
+     * A {@code Code} whose body was never set is compiled every time and not cached.
+     */
+    public CompiledCode getOrCompile(String platformType, Code code, Function<Code, CompiledCode> compiler) {
+        if (code.getCode() == null) {
+            return compiler.apply(code);
+        }
+        String body = code.getCode();
+        Key key = new Key(platformType, body, body.hashCode());
+        Entry entry = lookup(key);
+        if (entry != null) {
+            return entry.compiled;
+        }
+        misses.increment();
+        return put(key, compiler.apply(code));
+    }
+
+    /**
+     * Same as {@link #getOrCompile(String, Code, Function)} for a body in a {@link CodeArena}.
+     * A hit compares the bytes in the arena; a miss stores a heap copy of them as the key.
+     */
+    public CompiledCode getOrCompile(String platformType, CodeHandle handle,
+                                     Function<CodeHandle, CompiledCode> compiler) {
+        Key key = new Key(platformType, handle.bytes(), handle.contentHash());
+        Entry entry = lookup(key);
+        if (entry != null) {
+            return entry.compiled;
+        }
+        misses.increment();
+        CompiledCode compiled = compiler.apply(handle);
+        ByteBuffer copy = ByteBuffer.allocate(handle.length()).put(handle.bytes());
+        copy.flip();
+        return put(new Key(platformType, copy, handle.contentHash()), compiled);
+    }
+
+    private Entry lookup(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+        }
+        return entry;
+    }
+
+    private CompiledCode put(Key key, CompiledCode compiled) {
+        Stripe stripe = stripes[(key.hash ^ (key.hash >>> 16)) & (STRIPES - 1)];
+        long weight = key.weight() + compiled.size();
+        if (weight > stripe.maxBytes) {
+            return compiled;
+        }
+        return stripe.put(key, new Entry(compiled, weight));
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getCurrentBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            bytes += stripe.bytes;
+        }
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledCodeCache{hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + ", bytes=" + getCurrentBytes() + "/" + maxBytes + "}";
+    }
+
+    /**
+     * Insertion-ordered clock over the keys of one stripe. Only writers take the lock.
+     */
+    private final class Stripe {
+        private final long maxBytes;
+        private final ArrayDeque<Key> clock = new ArrayDeque<>();
+        private volatile long bytes;
+
+        Stripe(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized CompiledCode put(Key key, Entry entry) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                return existing.compiled;
+            }
+            clock.addLast(key);
+            long total = bytes + entry.weight;
+            while (total > maxBytes) {
+                Key candidate = clock.pollFirst();
+                Entry victim = entries.get(candidate);
+                if (victim.referenced) {
+                    victim.referenced = false;
+                    clock.addLast(candidate);
+                } else {
+                    entries.remove(candidate);
+                    total -= victim.weight;
+                    evictions.increment();
+                }
+            }
+            bytes = total;
+            return entry.compiled;
+        }
+
+        synchronized void clear() {
+            for (Key key : clock) {
+                entries.remove(key);
+            }
+            clock.clear();
+            bytes = 0;
+        }
+    }
+
+    private static final class Entry {
+        final CompiledCode compiled;
+        final long weight;
+        volatile boolean referenced;
+
+        Entry(CompiledCode compiled, long weight) {
+            this.compiled = compiled;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Platform type plus a body, either a heap {@link String} or the UTF-8 bytes of an arena body
+     * as a {@link ByteBuffer}. Keys of the two kinds never compare equal.
+     */
+    private static final class Key {
+        final String platformType;
+        final Object body;
+        final int hash;
+
+        Key(String platformType, Object body, int bodyHash) {
+            this.platformType = platformType;
+            this.body = body;
+            this.hash = 31 * platformType.hashCode() + bodyHash;
+        }
+
+        /**
+         * Size of the strings and bytes this key keeps reachable.
+         */
+        long weight() {
+            long bodyBytes = body instanceof String ? 2L * ((String) body).length() : ((ByteBuffer) body).capacity();
+            return 2L * platformType.length() + bodyBytes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && platformType.equals(other.platformType)
+                    && body instanceof String == other.body instanceof String && body.equals(other.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
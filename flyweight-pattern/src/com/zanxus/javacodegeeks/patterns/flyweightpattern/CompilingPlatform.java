@@ -0,0 +1,52 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base for platforms that compile a body once through {@link CompiledCodeCache} and then run
+ * the shared artifact. Bodies in a {@link CodeArena} are looked up and compiled from their bytes,
+ * without being decoded onto the heap.
+ *
+ * @author root
+ * @create 2026-10-20 9:10 AM
+ */
+public abstract class CompilingPlatform implements Platform {
+
+    private final String platformType;
+    private final String language;
+
+    protected CompilingPlatform(String platformType, String language) {
+        this.platformType = platformType;
+        this.language = language;
+    }
+
+    @Override
+    public void execute(Code code) {
+        run(CompiledCodeCache.getInstance().getOrCompile(platformType, code, this::compile));
+    }
+
+    @Override
+    public void execute(CodeHandle handle) {
+        run(CompiledCodeCache.getInstance().getOrCompile(platformType, handle, this::compile));
+    }
+
+    private void run(CompiledCode compiled) {
+        System.out.println("Executing " + language + " code (" + compiled.size() + " bytes)");
+    }
+
+    /**
+     * Compiles the body; a body that was never set compiles to an empty artifact.
+     */
+    protected CompiledCode compile(Code code) {
+        System.out.println("Compiling " + language + " code");
+        String body = code.getCode();
+        return new CompiledCode(platformType, body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected CompiledCode compile(CodeHandle handle) {
+        System.out.println("Compiling " + language + " code");
+        byte[] artifact = new byte[handle.length()];
+        handle.bytes().get(artifact);
+        return new CompiledCode(platformType, artifact);
+    }
+}
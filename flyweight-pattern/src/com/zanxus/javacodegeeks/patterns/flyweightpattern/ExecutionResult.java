@@ -0,0 +1,30 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+/**
+ * Outcome of one {@link Code} in a batch submitted to {@link Platform#executeAll}.
+ *
+ * @author root
+ * @create 2026-10-19 12:10 PM
+ */
+public final class ExecutionResult {
+
+    private final Code code;
+    private final Throwable failure;
+
+    ExecutionResult(Code code, Throwable failure) {
+        this.code = code;
+        this.failure = failure;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+}
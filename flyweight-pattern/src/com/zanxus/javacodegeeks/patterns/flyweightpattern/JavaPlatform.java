@@ -4,15 +4,11 @@ package com.zanxus.javacodegeeks.patterns.flyweightpattern;
  * @author root
  * @create 2016-12-14 9:14 PM
  */
-public class JavaPlatform implements Platform {
+public class JavaPlatform extends CompilingPlatform {
 
 
     public JavaPlatform() {
+        super("JAVA", "Java");
         System.out.println("JavaPlatform object created");
     }
-
-    @Override
-    public void execute(Code code) {
-        System.out.println("Compiling and executing Java code");
-    }
 }
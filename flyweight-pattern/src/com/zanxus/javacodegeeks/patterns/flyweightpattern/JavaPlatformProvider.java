@@ -0,0 +1,18 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+/**
+ * @author root
+ * @create 2026-10-19 2:05 PM
+ */
+public class JavaPlatformProvider implements PlatformProvider {
+
+    @Override
+    public String getPlatformType() {
+        return "JAVA";
+    }
+
+    @Override
+    public Platform createPlatform() {
+        return new JavaPlatform();
+    }
+}
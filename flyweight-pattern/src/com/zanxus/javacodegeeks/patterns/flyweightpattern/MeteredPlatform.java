@@ -0,0 +1,63 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+/**
+ * Decorates a platform so every execution is recorded in its {@link PlatformMetrics}.
+ *
+ * @author root
+ * @create 2026-10-19 3:10 PM
+ */
+class MeteredPlatform implements Platform {
+
+    private final Platform platform;
+    private final PlatformMetrics metrics;
+
+    MeteredPlatform(Platform platform, PlatformMetrics metrics) {
+        this.platform = platform;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void execute(Code code) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            platform.execute(code);
+            failed = false;
+        } finally {
+            metrics.record(System.nanoTime() - start, utf8Length(code.getCode()), failed);
+        }
+    }
+
+    @Override
+    public void execute(CodeHandle handle) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            platform.execute(handle);
+            failed = false;
+        } finally {
+            metrics.record(System.nanoTime() - start, handle.length(), failed);
+        }
+    }
+
+    private static long utf8Length(String s) {
+        if (s == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -1,9 +1,38 @@
 package com.zanxus.javacodegeeks.patterns.flyweightpattern;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * @author root
  * @create 2016-12-14 9:12 PM
  */
 public interface Platform {
     public void execute(Code code);
+
+    /**
+     * Executes a body held in a {@link CodeArena}. This default decodes it onto the heap and goes
+     * through {@link #execute(Code)}; {@link CompilingPlatform} reads it in place instead.
+     */
+    public default void execute(CodeHandle handle) {
+        execute(handle.toCode());
+    }
+
+    public default List<ExecutionResult> executeAll(Collection<Code> codes) {
+        return executeAll(codes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executes the batch across the given pool. Results are in submission order and an item
+     * that throws a {@link RuntimeException} is reported in its own result instead of aborting
+     * the batch. Errors such as {@link OutOfMemoryError} are not caught and end the batch.
+     */
+    public default List<ExecutionResult> executeAll(Collection<Code> codes, ForkJoinPool pool) {
+        Code[] batch = codes.toArray(new Code[0]);
+        ExecutionResult[] results = new ExecutionResult[batch.length];
+        pool.invoke(new BatchExecution(this, batch, results, 0, batch.length));
+        return Arrays.asList(results);
+    }
 }
@@ -0,0 +1,60 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures PlatformFactory lookup throughput under contention from 1 to 64 threads.
+ *
+ * @author root
+ * @create 2026-10-19 10:05 AM
+ */
+public class PlatformFactoryBenchmark {
+
+    private static final String[] TYPES = {"C", "CPP", "JAVA", "RUBY"};
+    private static final long DURATION_MILLIS = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (String type : TYPES) {
+            PlatformFactory.getPlatformInstance(type);
+        }
+        run(64);
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            long ops = run(threads);
+            System.out.printf("%2d threads: %,15d lookups/s%n", threads, ops * 1000 / DURATION_MILLIS);
+        }
+    }
+
+    private static long run(int threads) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        for (int i = 0; i < threads; i++) {
+            int offset = i;
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long count = 0;
+                int index = offset;
+                while ((count & 1023) != 0 || System.currentTimeMillis() < deadline) {
+                    if (PlatformFactory.getPlatformInstance(TYPES[index++ & 3]) == null) {
+                        throw new IllegalStateException("Missing platform");
+                    }
+                    count++;
+                }
+                ops.add(count);
+            });
+            workers[i].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum();
+    }
+}
@@ -0,0 +1,101 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution metrics for one platform type. Every counter is a striped {@link LongAdder}, so
+ * concurrent executions do not contend. Latencies go into power-of-two nanosecond buckets.
+ *
+ * @author root
+ * @create 2026-10-19 3:00 PM
+ */
+public final class PlatformMetrics {
+
+    private static final int BUCKETS = 64;
+
+    private final String platformType;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] latency = new LongAdder[BUCKETS];
+
+    public PlatformMetrics(String platformType) {
+        this.platformType = platformType;
+        for (int i = 0; i < BUCKETS; i++) {
+            latency[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos, long codeBytes, boolean failed) {
+        calls.increment();
+        bytes.add(codeBytes);
+        totalNanos.add(nanos);
+        latency[bucket(nanos)].increment();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    private static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    public String getPlatformType() {
+        return platformType;
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getBytesProcessed() {
+        return bytes.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Bucket {@code i} counts calls that took between 2^i and 2^(i+1) - 1 nanoseconds.
+     */
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = latency[i].sum();
+        }
+        return histogram;
+    }
+
+    /**
+     * Upper bound, in nanoseconds, of the bucket holding the given percentile (0-100).
+     */
+    public long getLatencyPercentile(double percentile) {
+        long[] histogram = getLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank && histogram[i] > 0) {
+                return i == 63 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PlatformMetrics{" + platformType + ": calls=" + getCallCount() + ", errors=" + getErrorCount()
+                + ", bytes=" + getBytesProcessed() + ", p50<=" + getLatencyPercentile(50) + "ns"
+                + ", p99<=" + getLatencyPercentile(99) + "ns}";
+    }
+}
@@ -0,0 +1,15 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+/**
+ * Service interface discovered by {@link PlatformRegistry} through {@link java.util.ServiceLoader}.
+ * Implementations should not touch their platform class until {@link #createPlatform()} is called.
+ *
+ * @author root
+ * @create 2026-10-19 2:00 PM
+ */
+public interface PlatformProvider {
+
+    public String getPlatformType();
+
+    public Platform createPlatform();
+}
@@ -0,0 +1,106 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pluggable platform registry backed by {@link ServiceLoader}. Providers are discovered on the
+ * first lookup, and each platform is constructed only when its type is first requested. The
+ * built-in C, CPP, JAVA and RUBY providers are registered as a fallback, so they resolve even
+ * when META-INF/services is missing from the classpath.
+ * Platforms are handed out wrapped in a {@link MeteredPlatform} that feeds {@link #getMetrics}.
+ *
+ * @author root
+ * @create 2026-10-19 2:10 PM
+ */
+public final class PlatformRegistry {
+
+    private static final PlatformProvider[] BUILT_IN = {
+            new CPlatformProvider(), new CPPPlatformProvider(), new JavaPlatformProvider(), new RubyPlatformProvider()
+    };
+
+    private final ClassLoader classLoader;
+    private final ConcurrentMap<String, Platform> platforms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PlatformMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile Map<String, PlatformProvider> providers;
+
+    public PlatformRegistry(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public static PlatformRegistry getDefault() {
+        return DefaultHolder.instance;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no provider is registered for the type
+     */
+    public Platform getPlatform(String platformType) {
+        Platform platform = platforms.get(platformType);
+        if (platform == null) {
+            platform = platforms.computeIfAbsent(platformType, this::createPlatform);
+        }
+        return platform;
+    }
+
+    public boolean isRegistered(String platformType) {
+        return providers().containsKey(platformType);
+    }
+
+    public int getProviderCount() {
+        return providers().size();
+    }
+
+    public int getCreatedCount() {
+        return platforms.size();
+    }
+
+    /**
+     * Returns the execution metrics of a created platform, or null if it was never requested.
+     */
+    public PlatformMetrics getMetrics(String platformType) {
+        return metrics.get(platformType);
+    }
+
+    public Collection<PlatformMetrics> getAllMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    private Platform createPlatform(String platformType) {
+        PlatformProvider provider = providers().get(platformType);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown platform type: " + platformType);
+        }
+        PlatformMetrics platformMetrics = metrics.computeIfAbsent(platformType, PlatformMetrics::new);
+        return new MeteredPlatform(provider.createPlatform(), platformMetrics);
+    }
+
+    private Map<String, PlatformProvider> providers() {
+        Map<String, PlatformProvider> result = providers;
+        if (result == null) {
+            synchronized (this) {
+                result = providers;
+                if (result == null) {
+                    result = new HashMap<>();
+                    for (PlatformProvider provider : ServiceLoader.load(PlatformProvider.class, classLoader)) {
+                        result.putIfAbsent(provider.getPlatformType(), provider);
+                    }
+                    for (PlatformProvider provider : BUILT_IN) {
+                        result.putIfAbsent(provider.getPlatformType(), provider);
+                    }
+                    providers = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static class DefaultHolder {
+        private static final PlatformRegistry instance = new PlatformRegistry(PlatformRegistry.class.getClassLoader());
+    }
+}
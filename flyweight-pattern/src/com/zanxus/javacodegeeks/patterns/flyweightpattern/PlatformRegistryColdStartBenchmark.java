@@ -0,0 +1,102 @@
+package com.zanxus.javacodegeeks.patterns.flyweightpattern;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates and compiles dozens of synthetic platforms, then compares the cold cost of
+ * constructing every platform up front with a lazy first lookup through {@link PlatformRegistry}.
+ * Each run uses a fresh class loader so class loading and static initialization are included.
+ *
+ * @author root
+ * @create 2026-10-19 2:30 PM
+ */
+public class PlatformRegistryColdStartBenchmark {
+
+    private static final int PLATFORMS = 48;
+    private static final String PACKAGE = "syntheticplatforms";
+
+    public static void main(String[] args) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            System.out.println("A JDK is required to generate the synthetic platforms");
+            return;
+        }
+        Path dir = Files.createTempDirectory("platforms");
+        List<String> types = generate(compiler, dir);
+        URL[] urls = {dir.toUri().toURL()};
+
+        long lazy;
+        int created;
+        try (URLClassLoader loader = new URLClassLoader(urls, PlatformRegistry.class.getClassLoader())) {
+            PlatformRegistry registry = new PlatformRegistry(loader);
+            long start = System.nanoTime();
+            registry.getPlatform(types.get(0));
+            lazy = System.nanoTime() - start;
+            created = registry.getCreatedCount();
+            System.out.printf("%d providers registered%n", registry.getProviderCount());
+        }
+
+        long eager;
+        try (URLClassLoader loader = new URLClassLoader(urls, PlatformRegistry.class.getClassLoader())) {
+            PlatformRegistry registry = new PlatformRegistry(loader);
+            long start = System.nanoTime();
+            for (String type : types) {
+                registry.getPlatform(type);
+            }
+            eager = System.nanoTime() - start;
+        }
+
+        System.out.printf("eager, all %d platforms : %8.2f ms%n", types.size(), eager / 1e6);
+        System.out.printf("lazy, %d platform       : %8.2f ms%n", created, lazy / 1e6);
+    }
+
+    private static List<String> generate(JavaCompiler compiler, Path dir) throws IOException {
+        Path sourceDir = Files.createDirectories(dir.resolve(PACKAGE));
+        List<String> sources = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        StringBuilder services = new StringBuilder();
+        String api = PlatformProvider.class.getPackage().getName();
+        for (int i = 0; i < PLATFORMS; i++) {
+            String type = "SYN" + i;
+            Path platform = sourceDir.resolve("Platform" + i + ".java");
+            Files.write(platform, ("package " + PACKAGE + ";\n"
+                    + "public class Platform" + i + " implements " + api + ".Platform {\n"
+                    + "    private static final int[] TABLE = new int[1 << 16];\n"
+                    + "    static { for (int i = 0; i < TABLE.length; i++) TABLE[i] = Integer.rotateLeft(i * " + (i + 31) + ", 7); }\n"
+                    + "    public void execute(" + api + ".Code code) { }\n"
+                    + "}\n").getBytes(StandardCharsets.UTF_8));
+            Path provider = sourceDir.resolve("Provider" + i + ".java");
+            Files.write(provider, ("package " + PACKAGE + ";\n"
+                    + "public class Provider" + i + " implements " + api + ".PlatformProvider {\n"
+                    + "    public String getPlatformType() { return \"" + type + "\"; }\n"
+                    + "    public " + api + ".Platform createPlatform() { return new Platform" + i + "(); }\n"
+                    + "}\n").getBytes(StandardCharsets.UTF_8));
+            sources.add(platform.toString());
+            sources.add(provider.toString());
+            types.add(type);
+            services.append(PACKAGE).append(".Provider").append(i).append('\n');
+        }
+        List<String> options = new ArrayList<>();
+        options.add("-d");
+        options.add(dir.toString());
+        options.add("-cp");
+        options.add(System.getProperty("java.class.path"));
+        options.addAll(sources);
+        if (compiler.run(null, null, null, options.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Could not compile the synthetic platforms");
+        }
+        Path serviceFile = dir.resolve("META-INF/services/" + PlatformProvider.class.getName());
+        Files.createDirectories(serviceFile.getParent());
+        Files.write(serviceFile, services.toString().getBytes(StandardCharsets.UTF_8));
+        return types;
+    }
+}
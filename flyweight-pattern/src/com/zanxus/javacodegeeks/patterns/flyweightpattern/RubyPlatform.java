@@ -4,15 +4,11 @@ package com.zanxus.javacodegeeks.patterns.flyweightpattern;
  * @author root
  * @create 2016-12-14 9:14 PM
  */
-public class RubyPlatform implements Platform {
+public class RubyPlatform extends CompilingPlatform {
 
 
     public RubyPlatform() {
+        super("RUBY", "Ruby");
         System.out.println("RubyPlatform object created");
     }
-
-    @Override
-    public void execute(Code code) {
-        System.out.println("Compiling and executing Ruby code");
-    }
 }
@@ -1,5 +1,8 @@
 package com.zanxus.javacodegeeks.patterns.flyweightpattern;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * @author root
  * @create 2016-12-14 9:33 PM
@@ -31,6 +34,29 @@ public class TestFlyweight {
         code.setCode("RUBY Code2");
         platform = PlatformFactory.getPlatformInstance("RUBY");
         platform.execute(code);
-
+        System.out.println();
+        code.setCode("C Code...");
+        platform = PlatformFactory.getPlatformInstance("C");
+        platform.execute(code);
+        System.out.println();
+        platform.execute(new Code());
+        System.out.println();
+        System.out.println(CompiledCodeCache.getInstance());
+        System.out.println();
+        List<Code> batch = Arrays.asList(new Code("JAVA Code"), new Code("JAVA Code3"), new Code("JAVA Code4"));
+        List<ExecutionResult> results = PlatformFactory.getPlatformInstance("JAVA").executeAll(batch);
+        for (ExecutionResult result : results) {
+            System.out.println(result.getCode().getCode() + ": " + (result.isSuccess() ? "OK" : result.getFailure()));
+        }
+        System.out.println();
+        CodeArena arena = new CodeArena();
+        CodeHandle handle = arena.store("RUBY Code from arena");
+        PlatformFactory.getPlatformInstance("RUBY").execute(handle);
+        PlatformFactory.getPlatformInstance("RUBY").execute(arena.store("RUBY Code from arena"));
+        System.out.println(CompiledCodeCache.getInstance());
+        System.out.println();
+        for (PlatformMetrics metrics : PlatformRegistry.getDefault().getAllMetrics()) {
+            System.out.println(metrics);
+        }
     }
 }
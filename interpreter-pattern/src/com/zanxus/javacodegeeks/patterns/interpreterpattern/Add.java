@@ -4,7 +4,7 @@ package com.zanxus.javacodegeeks.patterns.interpreterpattern;
  * @author root
  * @create 2016-12-26 11:10 PM
  */
-public class Add implements Expression {
+public class Add implements BinaryExpression {
 
     private final Expression leftExpression;
     private final Expression rightExpression;
@@ -14,6 +14,21 @@ public class Add implements Expression {
         this.rightExpression = rightExpression;
     }
 
+    @Override
+    public Expression getLeftExpression() {
+        return leftExpression;
+    }
+
+    @Override
+    public Expression getRightExpression() {
+        return rightExpression;
+    }
+
+    @Override
+    public String getOperator() {
+        return "+";
+    }
+
     @Override
     public int interpret() {
         return leftExpression.interpret() + rightExpression.interpret();
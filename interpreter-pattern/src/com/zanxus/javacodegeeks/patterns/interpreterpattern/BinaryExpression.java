@@ -0,0 +1,19 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+/**
+ * Common view of the two-operand expressions, used by the passes that walk expression trees.
+ *
+ * @author root
+ * @create 2026-10-19 5:10 PM
+ */
+public interface BinaryExpression extends Expression {
+
+    public Expression getLeftExpression();
+
+    public Expression getRightExpression();
+
+    /**
+     * The postfix token of this operator, as understood by {@link ExpressionUtils#getOperator}.
+     */
+    public String getOperator();
+}
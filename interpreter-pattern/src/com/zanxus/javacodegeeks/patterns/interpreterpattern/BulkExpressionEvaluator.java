@@ -0,0 +1,170 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Bulk scoring of a file holding one infix expression per line. The input is split into chunks
+ * on line boundaries, each chunk is memory-mapped and evaluated on a {@link ForkJoinPool}, and the
+ * results are written in input order, one per line. At most twice the pool's parallelism chunks
+ * are in flight, and each result is written out as soon as the chunks before it are, so memory
+ * stays bounded whatever the file size. A line that fails to parse yields
+ * {@code ERROR <message>} in its place; blank lines stay blank so the output lines up with the input.
+ *
+ * @author root
+ * @create 2026-10-19 10:00 PM
+ */
+public final class BulkExpressionEvaluator {
+
+    private static final long CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final int SCAN_BLOCK = 8192;
+
+    private BulkExpressionEvaluator() {
+        throw new AssertionError("Can't instantiate the class");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BulkExpressionEvaluator <input> <output>");
+            return;
+        }
+        long start = System.nanoTime();
+        long lines = evaluateFile(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.printf("%,d expressions in %.1f ms%n", lines, (System.nanoTime() - start) / 1e6);
+    }
+
+    public static long evaluateFile(Path input, Path output) throws IOException {
+        return evaluateFile(input, output, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluates every line of {@code input} on {@code pool} and returns the number of lines.
+     */
+    public static long evaluateFile(Path input, Path output, ForkJoinPool pool) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            int window = 2 * pool.getParallelism();
+            Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>(window);
+            long size = in.size();
+            long start = 0;
+            long lines = 0;
+            while (start < size) {
+                if (inFlight.size() == window) {
+                    lines += write(join(inFlight.poll()), out);
+                }
+                long end = lineEnd(in, Math.min(start + CHUNK_SIZE, size));
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                inFlight.add(pool.submit(() -> evaluateChunk(mapped)));
+                start = end;
+            }
+            while (!inFlight.isEmpty()) {
+                lines += write(join(inFlight.poll()), out);
+            }
+            return lines;
+        }
+    }
+
+    private static long write(Chunk chunk, FileChannel out) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(chunk.output);
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        return chunk.lines;
+    }
+
+    /**
+     * Returns the offset just past the first newline at or after {@code from}, or the file size.
+     */
+    private static long lineEnd(FileChannel in, long from) throws IOException {
+        long size = in.size();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK);
+        long position = from;
+        while (position < size) {
+            block.clear();
+            int read = in.read(block, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static Chunk evaluateChunk(ByteBuffer mapped) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(mapped.remaining() / 2);
+        byte[] line = new byte[256];
+        long lines = 0;
+        int limit = mapped.limit();
+        int i = 0;
+        while (i < limit) {
+            int length = 0;
+            while (i < limit && mapped.get(i) != '\n') {
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = mapped.get(i++);
+            }
+            i++;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            String text = new String(line, 0, length, StandardCharsets.ISO_8859_1);
+            String result;
+            if (text.trim().isEmpty()) {
+                result = "";
+            } else {
+                try {
+                    result = Integer.toString(InfixParser.parseConstant(text).interpret());
+                } catch (IllegalArgumentException e) {
+                    result = "ERROR " + e.getMessage();
+                }
+            }
+            byte[] bytes = result.getBytes(StandardCharsets.ISO_8859_1);
+            output.write(bytes, 0, bytes.length);
+            output.write('\n');
+            lines++;
+        }
+        return new Chunk(output.toByteArray(), lines);
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while evaluating", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Chunk evaluation failed", e.getCause());
+        }
+    }
+
+    private static final class Chunk {
+
+        private final byte[] output;
+        private final long lines;
+
+        Chunk(byte[] output, long lines) {
+            this.output = output;
+            this.lines = lines;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates one expression over whole columns. The tree is lowered once into a list of
+ * column instructions; evaluation then runs each instruction as a tight primitive loop over
+ * a chunk of rows, so dispatch happens per chunk and node rather than per row, and the loops
+ * stay simple enough for the JIT to vectorize. Temporary chunk buffers are reused once their
+ * last reader has run. One chunk loop serves {@code int} and {@code long} columns alike, with the
+ * per-row arithmetic in a small kernel per primitive type. Instances are immutable and may be
+ * shared between threads.
+ *
+ * @author root
+ * @create 2026-10-19 6:10 PM
+ */
+public final class ColumnarEvaluator {
+
+    private static final int CHUNK = 1024;
+
+    private static final int COLUMN = 0;
+    private static final int CONSTANT = 1;
+    private static final int TEMP = 2;
+    private static final int RESULT = 3;
+
+    private static final int ADD = 0;
+    private static final int SUBSTRACT = 1;
+    private static final int PRODUCT = 2;
+
+    /**
+     * Instruction layout: opcode, left kind, left index, right kind, right index, output
+     * temp, where -1 writes straight into the result array.
+     */
+    private static final int WIDTH = 6;
+
+    private final List<String> variables = new ArrayList<>();
+    private final List<Integer> constants = new ArrayList<>();
+    private final int[] code;
+    private final int temps;
+    private final int rootKind;
+    private final int rootIndex;
+
+    public ColumnarEvaluator(Expression expression) {
+        Map<Expression, Integer> uses = countUses(expression);
+        Map<Expression, int[]> operands = new IdentityHashMap<>();
+        Deque<Integer> freeTemps = new ArrayDeque<>();
+        List<int[]> instructions = new ArrayList<>();
+        int tempCount = 0;
+
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression e = pending.peek();
+            if (operands.containsKey(e)) {
+                pending.pop();
+            } else if (e instanceof Number) {
+                operands.put(e, new int[]{CONSTANT, constant(((Number) e).getValue())});
+                pending.pop();
+            } else if (e instanceof Variable) {
+                operands.put(e, new int[]{COLUMN, variable(((Variable) e).getName())});
+                pending.pop();
+            } else if (e instanceof BinaryExpression) {
+                BinaryExpression binary = (BinaryExpression) e;
+                int[] left = operands.get(binary.getLeftExpression());
+                int[] right = operands.get(binary.getRightExpression());
+                if (left == null || right == null) {
+                    if (left == null) {
+                        pending.push(binary.getLeftExpression());
+                    }
+                    if (right == null) {
+                        pending.push(binary.getRightExpression());
+                    }
+                    continue;
+                }
+                release(binary.getLeftExpression(), left, uses, freeTemps);
+                release(binary.getRightExpression(), right, uses, freeTemps);
+                int out = freeTemps.isEmpty() ? tempCount++ : freeTemps.pop();
+                instructions.add(new int[]{opcode(binary.getOperator()),
+                        left[0], left[1], right[0], right[1], out});
+                operands.put(e, new int[]{TEMP, out});
+                pending.pop();
+            } else {
+                throw new IllegalArgumentException("Unsupported expression node: " + e.getClass().getName());
+            }
+        }
+
+        int[] root = operands.get(expression);
+        code = new int[instructions.size() * WIDTH];
+        for (int i = 0; i < instructions.size(); i++) {
+            System.arraycopy(instructions.get(i), 0, code, i * WIDTH, WIDTH);
+        }
+        if (root[0] == TEMP) {
+            code[code.length - 1] = -1;
+            rootKind = RESULT;
+            rootIndex = -1;
+        } else {
+            rootKind = root[0];
+            rootIndex = root[1];
+        }
+        temps = tempCount;
+    }
+
+    public List<String> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    public int[] evaluate(Map<String, int[]> columns) {
+        return evaluate(columns, IntKernel.INSTANCE);
+    }
+
+    /**
+     * Same as {@link #evaluate(Map)} but over {@code long} columns with 64-bit arithmetic.
+     */
+    public long[] evaluateLong(Map<String, long[]> columns) {
+        return evaluate(columns, LongKernel.INSTANCE);
+    }
+
+    /**
+     * Runs the instructions chunk by chunk over columns of array type {@code A}, leaving the
+     * per-row loops to {@code kernel}.
+     */
+    private <A> A evaluate(Map<String, A> columns, Kernel<A> kernel) {
+        List<A> cols = new ArrayList<>(variables.size());
+        int rows = -1;
+        for (String name : variables) {
+            A column = columns.get(name);
+            cols.add(column);
+            rows = checkColumn(name, column == null ? -1 : kernel.length(column), rows);
+        }
+        if (rows < 0) {
+            rows = columns.isEmpty() ? 0 : kernel.length(columns.values().iterator().next());
+        }
+        A result = kernel.allocate(rows);
+        if (rootKind == CONSTANT) {
+            kernel.fill(result, constants.get(rootIndex));
+            return result;
+        }
+        if (rootKind == COLUMN) {
+            System.arraycopy(cols.get(rootIndex), 0, result, 0, rows);
+            return result;
+        }
+        List<A> constBuf = new ArrayList<>(constants.size());
+        for (int value : constants) {
+            A buffer = kernel.allocate(CHUNK);
+            kernel.fill(buffer, value);
+            constBuf.add(buffer);
+        }
+        List<A> tempBuf = new ArrayList<>(temps);
+        for (int i = 0; i < temps; i++) {
+            tempBuf.add(kernel.allocate(CHUNK));
+        }
+        for (int base = 0; base < rows; base += CHUNK) {
+            int len = Math.min(CHUNK, rows - base);
+            for (int pc = 0; pc < code.length; pc += WIDTH) {
+                A a = operand(code[pc + 1], code[pc + 2], cols, constBuf, tempBuf);
+                int aOff = code[pc + 1] == COLUMN ? base : 0;
+                A b = operand(code[pc + 3], code[pc + 4], cols, constBuf, tempBuf);
+                int bOff = code[pc + 3] == COLUMN ? base : 0;
+                int out = code[pc + 5];
+                A o = out < 0 ? result : tempBuf.get(out);
+                int oOff = out < 0 ? base : 0;
+                kernel.apply(code[pc], a, aOff, b, bOff, o, oOff, len);
+            }
+        }
+        return result;
+    }
+
+    private static <A> A operand(int kind, int index, List<A> cols, List<A> constBuf, List<A> tempBuf) {
+        return kind == COLUMN ? cols.get(index) : kind == CONSTANT ? constBuf.get(index) : tempBuf.get(index);
+    }
+
+    private static int checkColumn(String name, int length, int rows) {
+        if (length < 0) {
+            throw new IllegalArgumentException("No column bound to variable '" + name + "'");
+        }
+        if (rows >= 0 && length != rows) {
+            throw new IllegalArgumentException("Column '" + name + "' has " + length + " rows, expected " + rows);
+        }
+        return length;
+    }
+
+    private int constant(int value) {
+        int index = constants.indexOf(value);
+        if (index < 0) {
+            constants.add(value);
+            index = constants.size() - 1;
+        }
+        return index;
+    }
+
+    private int variable(String name) {
+        int index = variables.indexOf(name);
+        if (index < 0) {
+            variables.add(name);
+            index = variables.size() - 1;
+        }
+        return index;
+    }
+
+    private static int opcode(String operator) {
+        switch (operator) {
+            case "+":
+                return ADD;
+            case "-":
+                return SUBSTRACT;
+            case "*":
+                return PRODUCT;
+        }
+        throw new IllegalArgumentException("Unsupported operator: " + operator);
+    }
+
+    private static void release(Expression child, int[] operand, Map<Expression, Integer> uses,
+                                Deque<Integer> freeTemps) {
+        if (operand[0] == TEMP) {
+            int remaining = uses.merge(child, -1, Integer::sum);
+            if (remaining == 0) {
+                freeTemps.push(operand[1]);
+            }
+        }
+    }
+
+    /**
+     * Number of parents reading each node, counting a shared DAG node once per parent edge.
+     */
+    private static Map<Expression, Integer> countUses(Expression root) {
+        Map<Expression, Integer> uses = new IdentityHashMap<>();
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(root);
+        uses.put(root, 0);
+        while (!pending.isEmpty()) {
+            Expression e = pending.pop();
+            if (e instanceof BinaryExpression) {
+                for (Expression child : new Expression[]{((BinaryExpression) e).getLeftExpression(),
+                        ((BinaryExpression) e).getRightExpression()}) {
+                    if (uses.merge(child, 1, Integer::sum) == 1) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+        return uses;
+    }
+
+    /**
+     * The primitive part of a columnar run: buffers of one array type and the per-row loops.
+     */
+    private interface Kernel<A> {
+        A allocate(int length);
+
+        int length(A array);
+
+        void fill(A array, int value);
+
+        /**
+         * {@code o[oOff + i] = a[aOff + i] op b[bOff + i]} for {@code i} below {@code len}.
+         */
+        void apply(int opcode, A a, int aOff, A b, int bOff, A o, int oOff, int len);
+    }
+
+    private static final class IntKernel implements Kernel<int[]> {
+        static final IntKernel INSTANCE = new IntKernel();
+
+        @Override
+        public int[] allocate(int length) {
+            return new int[length];
+        }
+
+        @Override
+        public int length(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        public void fill(int[] array, int value) {
+            Arrays.fill(array, value);
+        }
+
+        @Override
+        public void apply(int opcode, int[] a, int aOff, int[] b, int bOff, int[] o, int oOff, int len) {
+            switch (opcode) {
+                case ADD:
+                    for (int i = 0; i < len; i++) {
+                        o[oOff + i] = a[aOff + i] + b[bOff + i];
+                    }
+                    break;
+                case SUBSTRACT:
+                    for (int i = 0; i < len; i++) {
+                        o[oOff + i] = a[aOff + i] - b[bOff + i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < len; i++) {
+                        o[oOff + i] = a[aOff + i] * b[bOff + i];
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static final class LongKernel implements Kernel<long[]> {
+        static final LongKernel INSTANCE = new LongKernel();
+
+        @Override
+        public long[] allocate(int length) {
+            return new long[length];
+        }
+
+        @Override
+        public int length(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        public void fill(long[] array, int value) {
+            Arrays.fill(array, value);
+        }
+
+        @Override
+        public void apply(int opcode, long[] a, int aOff, long[] b, int bOff, long[] o, int oOff, int len) {
+            switch (opcode) {
+                case ADD:
+                    for (int i = 0; i < len; i++) {
+                        o[oOff + i] = a[aOff + i] + b[bOff + i];
+                    }
+                    break;
+                case SUBSTRACT:
+                    for (int i = 0; i < len; i++) {
+                        o[oOff + i] = a[aOff + i] - b[bOff + i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < len; i++) {
+                        o[oOff + i] = a[aOff + i] * b[bOff + i];
+                    }
+                    break;
+            }
+        }
+    }
+}
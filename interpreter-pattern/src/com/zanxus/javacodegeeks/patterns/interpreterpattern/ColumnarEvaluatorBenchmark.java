@@ -0,0 +1,69 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Evaluates one formula over a million rows, per row through {@link Variable#setValue(int)} and
+ * {@link Expression#interpret()}, and in bulk through {@link ColumnarEvaluator}.
+ *
+ * @author root
+ * @create 2026-10-19 6:50 PM
+ */
+public class ColumnarEvaluatorBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String FORMULA = "a b * c + a c - b * - 3 *";
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Map<String, int[]> columns = new HashMap<>();
+        for (String name : new String[]{"a", "b", "c"}) {
+            int[] column = new int[ROWS];
+            for (int i = 0; i < ROWS; i++) {
+                column[i] = random.nextInt(1000);
+            }
+            columns.put(name, column);
+        }
+        Expression expression = ExpressionUtils.parse(FORMULA);
+        Variable a = findVariable(expression, "a");
+        Variable b = findVariable(expression, "b");
+        Variable c = findVariable(expression, "c");
+        ColumnarEvaluator evaluator = new ColumnarEvaluator(expression);
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int[] perRow = new int[ROWS];
+            for (int i = 0; i < ROWS; i++) {
+                a.setValue(columns.get("a")[i]);
+                b.setValue(columns.get("b")[i]);
+                c.setValue(columns.get("c")[i]);
+                perRow[i] = expression.interpret();
+            }
+            long rowNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] columnar = evaluator.evaluate(columns);
+            long columnNanos = System.nanoTime() - start;
+
+            for (int i = 0; i < ROWS; i++) {
+                if (perRow[i] != columnar[i]) {
+                    throw new IllegalStateException("Row " + i + " differs");
+                }
+            }
+            System.out.printf("per row: %7.2f ms   columnar: %7.2f ms%n", rowNanos / 1e6, columnNanos / 1e6);
+        }
+    }
+
+    private static Variable findVariable(Expression e, String name) {
+        if (e instanceof Variable) {
+            return ((Variable) e).getName().equals(name) ? (Variable) e : null;
+        }
+        if (e instanceof BinaryExpression) {
+            Variable v = findVariable(((BinaryExpression) e).getLeftExpression(), name);
+            return v != null ? v : findVariable(((BinaryExpression) e).getRightExpression(), name);
+        }
+        return null;
+    }
+}
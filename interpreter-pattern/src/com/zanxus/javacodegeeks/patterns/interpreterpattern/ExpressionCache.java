@@ -0,0 +1,165 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache from postfix source text to its parsed {@link Expression}, so each distinct
+ * expression goes through {@link ExpressionUtils} once. An optional post-processing step, such
+ * as {@link ExpressionOptimizer#optimize} followed by {@link ExpressionCompiler#compile}, is
+ * applied before an entry is stored. Hits are lock-free {@link ConcurrentHashMap} reads; only
+ * inserts take a lock, and once {@code maxEntries} is exceeded they evict in second-chance
+ * (clock) order, an approximation of LRU.
+ *
+ * <p>Cached trees are shared between callers, so their {@link Variable}s are shared as well and
+ * must not be bound through {@link Variable#setValue}. {@link #evaluate(String, Map)} binds
+ * values per call instead, through the entry's {@link FlatExpression} form.
+ *
+ * @author root
+ * @create 2026-10-19 8:10 PM
+ */
+public final class ExpressionCache {
+
+    private final int maxEntries;
+    private final Function<Expression, Expression> postProcessor;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<String> clock = new ArrayDeque<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpressionCache(int maxEntries) {
+        this(maxEntries, Function.identity());
+    }
+
+    public ExpressionCache(int maxEntries, Function<Expression, Expression> postProcessor) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.postProcessor = postProcessor;
+    }
+
+    /**
+     * Returns the cached expression for this source, parsing it outside the lock on a miss.
+     * Concurrent misses on the same text may both parse; the first one stored wins.
+     */
+    public Expression get(String tokenString) {
+        return entry(tokenString).expression;
+    }
+
+    public int evaluate(String tokenString) {
+        return get(tokenString).interpret();
+    }
+
+    /**
+     * Evaluates with the given variable values without touching the shared cached nodes, so
+     * concurrent calls may use different bindings.
+     *
+     * @throws IllegalArgumentException if a variable of the expression has no value
+     */
+    public int evaluate(String tokenString, Map<String, Integer> bindings) {
+        FlatExpression program = entry(tokenString).program;
+        List<String> names = program.getVariables();
+        int[] values = new int[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            Integer value = bindings.get(names.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("No value bound to variable '" + names.get(i) + "'");
+            }
+            values[i] = value;
+        }
+        return program.interpret(new int[program.getMaxStack()], values);
+    }
+
+    private Entry entry(String tokenString) {
+        Entry entry = entries.get(tokenString);
+        if (entry != null) {
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        Expression parsed = postProcessor.apply(ExpressionUtils.parse(tokenString));
+        return put(tokenString, new Entry(parsed, FlatExpression.flatten(parsed)));
+    }
+
+    private Entry put(String tokenString, Entry entry) {
+        synchronized (clock) {
+            Entry existing = entries.putIfAbsent(tokenString, entry);
+            if (existing != null) {
+                return existing;
+            }
+            clock.addLast(tokenString);
+            while (entries.size() > maxEntries) {
+                String candidate = clock.pollFirst();
+                Entry victim = entries.get(candidate);
+                if (victim.referenced) {
+                    victim.referenced = false;
+                    clock.addLast(candidate);
+                } else {
+                    entries.remove(candidate);
+                    evictions.increment();
+                }
+            }
+            return entry;
+        }
+    }
+
+    public void clear() {
+        synchronized (clock) {
+            entries.clear();
+            clock.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpressionCache{hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + ", size=" + size() + "/" + maxEntries + "}";
+    }
+
+    private static final class Entry {
+        final Expression expression;
+        final FlatExpression program;
+        volatile boolean referenced;
+
+        Entry(Expression expression, FlatExpression program) {
+            this.expression = expression;
+            this.program = program;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles an {@link Expression} tree into a hidden class whose {@code interpret()} is a single
+ * straight-line bytecode method, so the JIT sees the whole tree instead of a chain of
+ * megamorphic virtual calls. The tree is first flattened, and the bytecode is translated from
+ * the {@link FlatExpression} stream, so a node shared by several parents in a DAG is computed
+ * once into a local variable. Trees with node types it does not know are returned unchanged.
+ * Trees whose code would exceed HotSpot's 8000-byte huge-method limit, beyond which the JIT
+ * leaves a method interpreted, are returned as the {@link FlatExpression} instead, which also
+ * copes with any node types it meets there.
+ *
+ * @author root
+ * @create 2026-10-19 4:00 PM
+ */
+public final class ExpressionCompiler {
+
+    private static final int MAX_CODE_LENGTH = 8000;
+    private static final String CLASS_NAME = ExpressionCompiler.class.getPackage().getName().replace('.', '/')
+            + "/CompiledExpression";
+    private static final String EXPRESSION = Expression.class.getName().replace('.', '/');
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD = 0x15;
+    private static final int ISTORE = 0x36;
+    private static final int DUP = 0x59;
+    private static final int IADD = 0x60;
+    private static final int ISUB = 0x64;
+    private static final int IMUL = 0x68;
+    private static final int IRETURN = 0xac;
+    private static final int WIDE = 0xc4;
+
+    private ExpressionCompiler() {
+        throw new AssertionError("Can't instantiate the class");
+    }
+
+    public static Expression compile(Expression expression) {
+        FlatExpression flat = FlatExpression.flatten(expression);
+        try {
+            ClassWriter writer = new ClassWriter(flat);
+            if (writer.codeLength() > MAX_CODE_LENGTH) {
+                return flat;
+            }
+            if (flat.hasLeaves()) {
+                return expression;
+            }
+            byte[] classBytes = writer.toByteArray();
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classBytes, true);
+            return (Expression) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not define compiled expression", t);
+        }
+    }
+
+    /**
+     * Minimal class file writer for a final class implementing {@link Expression}.
+     */
+    private static class ClassWriter {
+
+        private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(constantPool);
+        private final Map<Integer, Integer> intConstants = new HashMap<>();
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        private int poolCount = 1;
+        private final int maxStack;
+        private final int maxLocals;
+
+        ClassWriter(FlatExpression flat) throws IOException {
+            utf8(CLASS_NAME);                 // 1
+            classRef(1);                      // 2
+            utf8("java/lang/Object");         // 3
+            classRef(3);                      // 4
+            utf8(EXPRESSION);                 // 5
+            classRef(5);                      // 6
+            utf8("<init>");                   // 7
+            utf8("()V");                      // 8
+            nameAndType(7, 8);                // 9
+            methodRef(4, 9);                  // 10
+            utf8("interpret");                // 11
+            utf8("()I");                      // 12
+            utf8("Code");                     // 13
+            // dup before each store needs one slot above the operand stack; local 0 is this
+            maxStack = flat.getOperandStack() + 1;
+            maxLocals = 1 + flat.getSlotCount();
+            for (int instruction : flat.getCode()) {
+                if (code.size() > MAX_CODE_LENGTH) {
+                    break;
+                }
+                emit(flat, instruction);
+            }
+            code.write(IRETURN);
+        }
+
+        int codeLength() {
+            return code.size();
+        }
+
+        /**
+         * Appends the bytecode of one {@link FlatExpression} instruction. Leaves and variables
+         * have no bytecode form and only get a placeholder for the length check; a stream
+         * holding any is never turned into a class.
+         */
+        private void emit(FlatExpression flat, int instruction) throws IOException {
+            int operand = instruction >>> 8;
+            switch (instruction & 0xFF) {
+                case FlatExpression.PUSH:
+                    push(instruction >> 8);
+                    break;
+                case FlatExpression.PUSH_LITERAL:
+                    push(flat.getLiteral(operand));
+                    break;
+                case FlatExpression.ADD:
+                    code.write(IADD);
+                    break;
+                case FlatExpression.SUBSTRACT:
+                    code.write(ISUB);
+                    break;
+                case FlatExpression.PRODUCT:
+                    code.write(IMUL);
+                    break;
+                case FlatExpression.STORE:
+                    code.write(DUP);
+                    local(ISTORE, 1 + operand);
+                    break;
+                case FlatExpression.LOAD:
+                    local(ILOAD, 1 + operand);
+                    break;
+                default:
+                    code.write(ICONST_0);
+                    break;
+            }
+        }
+
+        private void local(int opcode, int index) {
+            if (index < 256) {
+                code.write(opcode);
+                code.write(index);
+            } else {
+                code.write(WIDE);
+                code.write(opcode);
+                code.write(index >> 8);
+                code.write(index);
+            }
+        }
+
+        private void push(int value) throws IOException {
+            if (value >= -1 && value <= 5) {
+                code.write(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                code.write(BIPUSH);
+                code.write(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                code.write(SIPUSH);
+                code.write(value >> 8);
+                code.write(value);
+            } else {
+                int index = intConstant(value);
+                if (index < 256) {
+                    code.write(LDC);
+                    code.write(index);
+                } else {
+                    code.write(LDC_W);
+                    code.write(index >> 8);
+                    code.write(index);
+                }
+            }
+        }
+
+        private int intConstant(int value) throws IOException {
+            Integer index = intConstants.get(value);
+            if (index == null) {
+                pool.writeByte(3);
+                pool.writeInt(value);
+                index = poolCount++;
+                intConstants.put(value, index);
+            }
+            return index;
+        }
+
+        private void utf8(String s) throws IOException {
+            pool.writeByte(1);
+            pool.writeUTF(s);
+            poolCount++;
+        }
+
+        private void classRef(int nameIndex) throws IOException {
+            pool.writeByte(7);
+            pool.writeShort(nameIndex);
+            poolCount++;
+        }
+
+        private void nameAndType(int nameIndex, int descriptorIndex) throws IOException {
+            pool.writeByte(12);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            poolCount++;
+        }
+
+        private void methodRef(int classIndex, int nameAndTypeIndex) throws IOException {
+            pool.writeByte(10);
+            pool.writeShort(classIndex);
+            pool.writeShort(nameAndTypeIndex);
+            poolCount++;
+        }
+
+        byte[] toByteArray() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(poolCount);
+            constantPool.writeTo(out);
+            out.writeShort(0x0031);           // public final super
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(1);
+            out.writeShort(6);
+            out.writeShort(0);                // fields
+            out.writeShort(2);                // methods
+
+            byte[] init = {0x2a, (byte) 0xb7, 0, 10, (byte) 0xb1};   // aload_0, invokespecial #10, return
+            method(out, 7, 8, 1, 1, init);
+            method(out, 11, 12, maxStack, maxLocals, code.toByteArray());
+
+            out.writeShort(0);                // class attributes
+            return bytes.toByteArray();
+        }
+
+        private static void method(DataOutputStream out, int name, int descriptor, int maxStack, int maxLocals,
+                                   byte[] body) throws IOException {
+            out.writeShort(0x0001);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(13);
+            out.writeInt(12 + body.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(body.length);
+            out.write(body);
+            out.writeShort(0);                // exception table
+            out.writeShort(0);                // code attributes
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.Random;
+
+/**
+ * Compares tree-walking {@link Expression#interpret()} with the {@link ExpressionCompiler} output.
+ *
+ * @author root
+ * @create 2026-10-19 4:40 PM
+ */
+public class ExpressionCompilerBenchmark {
+
+    private static final int DEPTH = 8;
+    private static final int EVALUATIONS = 5_000_000;
+
+    public static void main(String[] args) {
+        Expression tree = randomTree(new Random(42), DEPTH);
+        Expression compiled = ExpressionCompiler.compile(tree);
+        if (tree.interpret() != compiled.interpret()) {
+            throw new IllegalStateException("Compiled expression disagrees with the tree");
+        }
+        for (int round = 0; round < 3; round++) {
+            long treeNanos = time(tree);
+            long compiledNanos = time(compiled);
+            System.out.printf("tree: %6.1f ns/eval   compiled: %6.1f ns/eval   speedup: %5.1fx%n",
+                    (double) treeNanos / EVALUATIONS, (double) compiledNanos / EVALUATIONS,
+                    (double) treeNanos / compiledNanos);
+        }
+    }
+
+    private static long time(Expression expression) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < EVALUATIONS; i++) {
+            sink += expression.interpret();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+
+    static Expression randomTree(Random random, int depth) {
+        if (depth == 0) {
+            return new Number(random.nextInt(100));
+        }
+        Expression left = randomTree(random, depth - 1);
+        Expression right = randomTree(random, depth - 1);
+        switch (random.nextInt(3)) {
+            case 0:
+                return new Add(left, right);
+            case 1:
+                return new Substract(left, right);
+            default:
+                return new Product(left, right);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * Side-by-side comparison of the expression evaluation strategies across tree shapes and depths:
+ * tree-walking {@link Expression#interpret()}, {@link ExpressionCompiler}, {@link FlatExpression},
+ * parsing through {@link ExpressionUtils#parse}, and streaming through {@link PostfixEvaluator}.
+ * Each case reports the time and the bytes allocated per operation, the latter read from the
+ * HotSpot per-thread allocation counter.
+ *
+ * <p>Each case runs in a fresh JVM, as JMH forks do, so the measurement loop's call sites only
+ * ever see that case's {@code IntSupplier} and, for the compiled strategy, that case's hidden
+ * class. In one shared JVM the loop would go megamorphic across the compiled classes and the
+ * profile pollution would hide what compiling each expression buys.
+ *
+ * <p>Trees hold only literals, so the JIT may fold a compiled tree down to a constant; the
+ * compiled numbers are a lower bound of what variable-free expressions cost.
+ *
+ * @author root
+ * @create 2026-10-19 10:40 PM
+ */
+public class ExpressionEvaluationBenchmark {
+
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASURE_NANOS = 500_000_000L;
+    private static final int[] DEPTHS = {4, 8, 12};
+    private static final String[] SHAPES = {"balanced", "left-deep", "wide"};
+    private static final String[] STRATEGIES = {"interpret", "compiled", "flat", "parse", "parse+eval", "streaming"};
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private static int sink;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 3) {
+            runCase(args[0], Integer.parseInt(args[1]), args[2]);
+            return;
+        }
+        System.out.printf("%-10s %5s %6s  %-12s %12s %12s%n", "shape", "depth", "nodes", "strategy", "ns/op", "B/op");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (String shape : SHAPES) {
+            for (int depth : DEPTHS) {
+                for (String strategy : STRATEGIES) {
+                    Process fork = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                            ExpressionEvaluationBenchmark.class.getName(), shape, Integer.toString(depth), strategy)
+                            .inheritIO()
+                            .start();
+                    if (fork.waitFor() != 0) {
+                        throw new IllegalStateException("Fork failed for " + shape + " " + depth + " " + strategy);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void runCase(String shape, int depth, String strategy) {
+        Expression tree = build(shape, depth, new Random(depth));
+        FlatExpression flat = FlatExpression.flatten(tree);
+        int nodes = flat.getInstructionCount();
+        String postfix = toPostfix(tree);
+        switch (strategy) {
+            case "interpret":
+                report(shape, depth, nodes, strategy, tree::interpret);
+                break;
+            case "compiled":
+                report(shape, depth, nodes, strategy, ExpressionCompiler.compile(tree)::interpret);
+                break;
+            case "flat": {
+                int[] stack = new int[flat.getMaxStack()];
+                report(shape, depth, nodes, strategy, () -> flat.interpret(stack));
+                break;
+            }
+            case "parse":
+                report(shape, depth, nodes, strategy, () -> ExpressionUtils.parse(postfix).hashCode());
+                break;
+            case "parse+eval":
+                report(shape, depth, nodes, strategy, () -> ExpressionUtils.parse(postfix).interpret());
+                break;
+            case "streaming": {
+                PostfixEvaluator streaming = new PostfixEvaluator();
+                report(shape, depth, nodes, strategy, () -> streaming.evaluate(postfix));
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    private static void report(String shape, int depth, int nodes, String strategy, IntSupplier operation) {
+        run(operation, WARMUP_NANOS);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long ops = run(operation, MEASURE_NANOS);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%-10s %5d %6d  %-12s %12.1f %12s%n", shape, depth, nodes, strategy,
+                (double) elapsed / ops, allocatedBefore < 0 ? "n/a" : String.format("%.1f", (double) allocated / ops));
+    }
+
+    private static long run(IntSupplier operation, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        long ops = 0;
+        int local = 0;
+        do {
+            for (int i = 0; i < 256; i++) {
+                local += operation.getAsInt();
+            }
+            ops += 256;
+        } while (System.nanoTime() < deadline);
+        sink += local;
+        return ops;
+    }
+
+    /**
+     * balanced: full binary tree of the given depth; left-deep: a chain with 2^depth leaves;
+     * wide: a chain adding 2^(depth-2) independent depth-2 subtrees.
+     */
+    static Expression build(String shape, int depth, Random random) {
+        switch (shape) {
+            case "balanced":
+                return ExpressionCompilerBenchmark.randomTree(random, depth);
+            case "left-deep": {
+                Expression e = new Number(random.nextInt(100));
+                for (int i = 1; i < 1 << depth; i++) {
+                    e = operator(random, e, new Number(random.nextInt(100)));
+                }
+                return e;
+            }
+            default: {
+                Expression e = ExpressionCompilerBenchmark.randomTree(random, 2);
+                for (int i = 1; i < 1 << (depth - 2); i++) {
+                    e = new Add(e, ExpressionCompilerBenchmark.randomTree(random, 2));
+                }
+                return e;
+            }
+        }
+    }
+
+    private static Expression operator(Random random, Expression left, Expression right) {
+        return ExpressionUtils.getOperator(new String[]{"+", "-", "*"}[random.nextInt(3)], left, right);
+    }
+
+    static String toPostfix(Expression expression) {
+        StringBuilder sb = new StringBuilder();
+        appendPostfix(expression, sb);
+        return sb.toString();
+    }
+
+    private static void appendPostfix(Expression e, StringBuilder sb) {
+        if (e instanceof BinaryExpression) {
+            BinaryExpression binary = (BinaryExpression) e;
+            appendPostfix(binary.getLeftExpression(), sb);
+            sb.append(' ');
+            appendPostfix(binary.getRightExpression(), sb);
+            sb.append(' ').append(binary.getOperator());
+        } else {
+            sb.append(((Number) e).getValue());
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+            return (com.sun.management.ThreadMXBean) bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,171 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Optimization pass run before evaluation. It folds constant subtrees, simplifies the identities
+ * {@code x+0}, {@code x-0}, {@code x-x}, {@code x*1} and {@code x*0}, and hash-conses the result
+ * so structurally identical subtrees become one shared node of a DAG. Unknown node types are
+ * kept as they are and treated as opaque leaves.
+ *
+ * <p>Tree-walking {@code interpret()} would evaluate a shared node once per parent, so when the
+ * DAG shares an operator node {@link #optimize} returns it lowered into a {@link FlatExpression},
+ * whose slots hold each shared value, and every shared subtree is computed once per evaluation.
+ * {@link #toDag} returns the DAG itself for passes that lower shared nodes on their own.
+ *
+ * @author root
+ * @create 2026-10-19 5:20 PM
+ */
+public final class ExpressionOptimizer {
+
+    private final Map<Expression, Expression> optimized = new IdentityHashMap<>();
+    private final Map<Object, Expression> canonical = new HashMap<>();
+
+    private ExpressionOptimizer() {
+    }
+
+    public static Expression optimize(Expression expression) {
+        Expression dag = toDag(expression);
+        return sharesOperators(dag) ? FlatExpression.flatten(dag) : dag;
+    }
+
+    public static Expression toDag(Expression expression) {
+        return new ExpressionOptimizer().run(expression);
+    }
+
+    private static boolean sharesOperators(Expression root) {
+        Set<Expression> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Expression e = pending.pop();
+            if (e instanceof BinaryExpression) {
+                if (!seen.add(e)) {
+                    return true;
+                }
+                pending.push(((BinaryExpression) e).getLeftExpression());
+                pending.push(((BinaryExpression) e).getRightExpression());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Post-order walk with an explicit stack, so deep trees can't overflow the call stack.
+     */
+    private Expression run(Expression root) {
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Expression e = pending.peek();
+            if (optimized.containsKey(e)) {
+                pending.pop();
+            } else if (e instanceof Number) {
+                optimized.put(e, number(((Number) e).getValue()));
+                pending.pop();
+            } else if (e instanceof BinaryExpression) {
+                BinaryExpression binary = (BinaryExpression) e;
+                Expression left = optimized.get(binary.getLeftExpression());
+                Expression right = optimized.get(binary.getRightExpression());
+                if (left != null && right != null) {
+                    optimized.put(e, simplify(binary.getOperator(), left, right));
+                    pending.pop();
+                } else {
+                    if (left == null) {
+                        pending.push(binary.getLeftExpression());
+                    }
+                    if (right == null) {
+                        pending.push(binary.getRightExpression());
+                    }
+                }
+            } else {
+                optimized.put(e, e);
+                pending.pop();
+            }
+        }
+        return optimized.get(root);
+    }
+
+    private Expression simplify(String operator, Expression left, Expression right) {
+        Integer l = left instanceof Number ? ((Number) left).getValue() : null;
+        Integer r = right instanceof Number ? ((Number) right).getValue() : null;
+        if (l != null && r != null) {
+            return number(ExpressionUtils.getOperator(operator, left, right).interpret());
+        }
+        switch (operator) {
+            case "+":
+                if (isValue(r, 0)) {
+                    return left;
+                }
+                if (isValue(l, 0)) {
+                    return right;
+                }
+                break;
+            case "-":
+                if (isValue(r, 0)) {
+                    return left;
+                }
+                if (left == right) {
+                    return number(0);
+                }
+                break;
+            case "*":
+                if (isValue(l, 0) || isValue(r, 0)) {
+                    return number(0);
+                }
+                if (isValue(r, 1)) {
+                    return left;
+                }
+                if (isValue(l, 1)) {
+                    return right;
+                }
+                break;
+        }
+        return canonical.computeIfAbsent(new NodeKey(operator, left, right),
+                k -> ExpressionUtils.getOperator(operator, left, right));
+    }
+
+    private static boolean isValue(Integer value, int expected) {
+        return value != null && value == expected;
+    }
+
+    private Expression number(int value) {
+        return canonical.computeIfAbsent(value, v -> new Number(value));
+    }
+
+    /**
+     * Children are already canonical, so they are compared by identity.
+     */
+    private static final class NodeKey {
+
+        private final String operator;
+        private final Expression left;
+        private final Expression right;
+
+        NodeKey(String operator, Expression left, Expression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NodeKey)) {
+                return false;
+            }
+            NodeKey other = (NodeKey) o;
+            return operator.equals(other.operator) && left == other.left && right == other.right;
+        }
+
+        @Override
+        public int hashCode() {
+            return (operator.hashCode() * 31 + System.identityHashCode(left)) * 31 + System.identityHashCode(right);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.zanxus.javacodegeeks.patterns.interpreterpattern;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author root
  * @create 2016-12-26 11:16 PM
@@ -27,5 +32,44 @@ public class ExpressionUtils {
 
     }
 
+    public static boolean isVariable(String s) {
+        if (s.isEmpty() || !Character.isJavaIdentifierStart(s.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < s.length(); i++) {
+            if (!Character.isJavaIdentifierPart(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds an expression tree from whitespace-separated postfix tokens, e.g. "7 3 - 2 1 + *".
+     * Identifier tokens become {@link Variable}s; every occurrence of a name shares one instance.
+     */
+    public static Expression parse(String tokenString) {
+        Deque<Expression> stack = new ArrayDeque<>();
+        Map<String, Variable> variables = new HashMap<>();
+        for (String s : tokenString.trim().split("\\s+")) {
+            if (isOperator(s)) {
+                if (stack.size() < 2) {
+                    throw new IllegalArgumentException("Missing operand for '" + s + "' in: " + tokenString);
+                }
+                Expression rightExpression = stack.pop();
+                Expression leftExpression = stack.pop();
+                stack.push(getOperator(s, leftExpression, rightExpression));
+            } else if (isVariable(s)) {
+                stack.push(variables.computeIfAbsent(s, Variable::new));
+            } else {
+                stack.push(new Number(Integer.parseInt(s)));
+            }
+        }
+        if (stack.size() != 1) {
+            throw new IllegalArgumentException("Malformed postfix expression: " + tokenString);
+        }
+        return stack.pop();
+    }
+
 
 }
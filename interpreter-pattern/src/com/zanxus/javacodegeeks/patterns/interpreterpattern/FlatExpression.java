@@ -0,0 +1,331 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An expression flattened into a compact postfix {@code int[]} opcode stream and evaluated by a
+ * switch-dispatch stack machine. Each instruction is one int: the opcode in the low byte and a
+ * 24-bit operand above it. Literals that fit in 24 bits are stored inline; wider ones go into a
+ * side array. A {@link Variable} reads its bound value, or a value passed per call to
+ * {@link #interpret(int[], int[])} without touching the shared node; other leaves the machine
+ * can't express are evaluated through their own {@code interpret()}. A node shared by several
+ * parents in a DAG is flattened once and its value kept in a numbered slot that later uses
+ * load, so it is computed once per evaluation.
+ *
+ * @author root
+ * @create 2026-10-19 8:40 PM
+ */
+public final class FlatExpression implements Expression {
+
+    static final int PUSH = 0;
+    static final int PUSH_LITERAL = 1;
+    static final int LEAF = 2;
+    static final int ADD = 3;
+    static final int SUBSTRACT = 4;
+    static final int PRODUCT = 5;
+    static final int STORE = 6;
+    static final int LOAD = 7;
+    static final int VARIABLE = 8;
+
+    private static final int MIN_INLINE = -(1 << 23);
+    private static final int MAX_INLINE = (1 << 23) - 1;
+    private static final int MAX_OPERAND = (1 << 24) - 1;
+
+    private static final int[] NO_LITERALS = new int[0];
+    private static final Expression[] NO_LEAVES = new Expression[0];
+    private static final Variable[] NO_VARIABLES = new Variable[0];
+
+    private final int[] code;
+    private final int[] literals;
+    private final Expression[] leaves;
+    private final Variable[] variables;
+    private final int operandStack;
+    private final int slots;
+
+    private FlatExpression(int[] code, int[] literals, Expression[] leaves, Variable[] variables,
+                           int operandStack, int slots) {
+        this.code = code;
+        this.literals = literals;
+        this.leaves = leaves;
+        this.variables = variables;
+        this.operandStack = operandStack;
+        this.slots = slots;
+    }
+
+    public static FlatExpression flatten(Expression expression) {
+        if (expression instanceof FlatExpression) {
+            return (FlatExpression) expression;
+        }
+        Map<Expression, Integer> uses = countUses(expression);
+        Map<Expression, Integer> slots = new IdentityHashMap<>();
+        Emitter out = new Emitter();
+        int depth = 0;
+        int maxStack = 0;
+
+        // Post-order walk; a node is pushed a second time, wrapped, once its children are queued.
+        // Any later use of a shared node is popped after that wrapper, so its slot is filled by then.
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Object item = pending.pop();
+            if (item instanceof Emit) {
+                Emit emit = (Emit) item;
+                out.add(emit.opcode);
+                depth--;
+                if (emit.slot >= 0) {
+                    out.add(STORE | (emit.slot << 8));
+                }
+                continue;
+            }
+            Expression e = (Expression) item;
+            Integer slot = slots.get(e);
+            if (slot != null) {
+                out.add(LOAD | (slot << 8));
+            } else if (e instanceof Number) {
+                int value = ((Number) e).getValue();
+                if (value >= MIN_INLINE && value <= MAX_INLINE) {
+                    out.add(PUSH | (value << 8));
+                } else {
+                    out.add(PUSH_LITERAL | (out.literal(value) << 8));
+                }
+            } else if (e instanceof Variable) {
+                out.add(VARIABLE | (out.variable((Variable) e) << 8));
+            } else {
+                int newSlot = -1;
+                if (uses.get(e) > 1) {
+                    newSlot = slots.size();
+                    slots.put(e, newSlot);
+                    checkOperand(newSlot);
+                }
+                if (e instanceof BinaryExpression) {
+                    BinaryExpression binary = (BinaryExpression) e;
+                    pending.push(new Emit(opcode(binary), newSlot));
+                    pending.push(binary.getRightExpression());
+                    pending.push(binary.getLeftExpression());
+                    continue;
+                }
+                out.add(LEAF | (out.leaf(e) << 8));
+                if (newSlot >= 0) {
+                    out.add(STORE | (newSlot << 8));
+                }
+            }
+            depth++;
+            maxStack = Math.max(maxStack, depth);
+        }
+        return out.toFlatExpression(maxStack, slots.size());
+    }
+
+    /**
+     * Size of the working array {@link #interpret(int[])} needs: the operand stack followed by
+     * one slot per shared node.
+     */
+    public int getMaxStack() {
+        return operandStack + slots;
+    }
+
+    public int getInstructionCount() {
+        return code.length;
+    }
+
+    /**
+     * Names of the variables, in the order {@link #interpret(int[], int[])} takes their values.
+     */
+    public List<String> getVariables() {
+        List<String> names = new ArrayList<>(variables.length);
+        for (Variable variable : variables) {
+            names.add(variable.getName());
+        }
+        return names;
+    }
+
+    /**
+     * The instruction stream, read by {@link ExpressionCompiler}; callers must not modify it.
+     */
+    int[] getCode() {
+        return code;
+    }
+
+    int getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Whether the stream reads leaves or variables, which have no bytecode form.
+     */
+    boolean hasLeaves() {
+        return leaves.length > 0 || variables.length > 0;
+    }
+
+    int getOperandStack() {
+        return operandStack;
+    }
+
+    int getSlotCount() {
+        return slots;
+    }
+
+    @Override
+    public int interpret() {
+        return interpret(new int[getMaxStack()]);
+    }
+
+    /**
+     * Evaluates with a caller-supplied working array of at least {@link #getMaxStack()} ints,
+     * so a loop over many expressions can reuse one array.
+     */
+    public int interpret(int[] stack) {
+        return interpret(stack, null);
+    }
+
+    /**
+     * Evaluates with {@code values[i]} standing in for the i-th of {@link #getVariables()}, or
+     * with each variable's bound value when {@code values} is null. Since nothing shared is
+     * written, threads may evaluate one instance with different values at the same time.
+     */
+    public int interpret(int[] stack, int[] values) {
+        int sp = 0;
+        for (int instruction : code) {
+            switch (instruction & 0xFF) {
+                case PUSH:
+                    stack[sp++] = instruction >> 8;
+                    break;
+                case PUSH_LITERAL:
+                    stack[sp++] = literals[instruction >>> 8];
+                    break;
+                case LEAF:
+                    stack[sp++] = leaves[instruction >>> 8].interpret();
+                    break;
+                case VARIABLE:
+                    stack[sp++] = values == null ? variables[instruction >>> 8].interpret() : values[instruction >>> 8];
+                    break;
+                case ADD:
+                    sp--;
+                    stack[sp - 1] += stack[sp];
+                    break;
+                case SUBSTRACT:
+                    sp--;
+                    stack[sp - 1] -= stack[sp];
+                    break;
+                case PRODUCT:
+                    sp--;
+                    stack[sp - 1] *= stack[sp];
+                    break;
+                case STORE:
+                    stack[operandStack + (instruction >>> 8)] = stack[sp - 1];
+                    break;
+                case LOAD:
+                    stack[sp++] = stack[operandStack + (instruction >>> 8)];
+                    break;
+                default:
+                    throw new IllegalStateException("Bad instruction: " + instruction);
+            }
+        }
+        return stack[0];
+    }
+
+    private static int opcode(BinaryExpression binary) {
+        switch (binary.getOperator()) {
+            case "+":
+                return ADD;
+            case "-":
+                return SUBSTRACT;
+            case "*":
+                return PRODUCT;
+        }
+        throw new IllegalArgumentException("Unsupported operator: " + binary.getOperator());
+    }
+
+    private static void checkOperand(int operand) {
+        if (operand > MAX_OPERAND) {
+            throw new IllegalArgumentException("Too many literals, leaves or shared nodes to flatten");
+        }
+    }
+
+    /**
+     * Number of parents reading each node, counting a shared DAG node once per parent edge.
+     */
+    private static Map<Expression, Integer> countUses(Expression root) {
+        Map<Expression, Integer> uses = new IdentityHashMap<>();
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(root);
+        uses.put(root, 1);
+        while (!pending.isEmpty()) {
+            Expression e = pending.pop();
+            if (e instanceof BinaryExpression) {
+                for (Expression child : new Expression[]{((BinaryExpression) e).getLeftExpression(),
+                        ((BinaryExpression) e).getRightExpression()}) {
+                    if (uses.merge(child, 1, Integer::sum) == 1) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+        return uses;
+    }
+
+    private static final class Emit {
+
+        private final int opcode;
+        private final int slot;
+
+        Emit(int opcode, int slot) {
+            this.opcode = opcode;
+            this.slot = slot;
+        }
+    }
+
+    private static final class Emitter {
+
+        private int[] code = new int[16];
+        private int length;
+        private final List<Integer> literals = new ArrayList<>();
+        private final List<Expression> leaves = new ArrayList<>();
+        private final Map<Variable, Integer> variables = new IdentityHashMap<>();
+
+        void add(int instruction) {
+            if (length == code.length) {
+                code = Arrays.copyOf(code, length * 2);
+            }
+            code[length++] = instruction;
+        }
+
+        int literal(int value) {
+            literals.add(value);
+            checkOperand(literals.size() - 1);
+            return literals.size() - 1;
+        }
+
+        int leaf(Expression leaf) {
+            leaves.add(leaf);
+            checkOperand(leaves.size() - 1);
+            return leaves.size() - 1;
+        }
+
+        int variable(Variable variable) {
+            Integer index = variables.get(variable);
+            if (index == null) {
+                index = variables.size();
+                checkOperand(index);
+                variables.put(variable, index);
+            }
+            return index;
+        }
+
+        FlatExpression toFlatExpression(int operandStack, int slots) {
+            Variable[] bound = new Variable[variables.size()];
+            for (Map.Entry<Variable, Integer> entry : variables.entrySet()) {
+                bound[entry.getValue()] = entry.getKey();
+            }
+            return new FlatExpression(Arrays.copyOf(code, length),
+                    literals.isEmpty() ? NO_LITERALS : literals.stream().mapToInt(Integer::intValue).toArray(),
+                    leaves.isEmpty() ? NO_LEAVES : leaves.toArray(new Expression[0]),
+                    bound.length == 0 ? NO_VARIABLES : bound, operandStack, slots);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.lang.ref.Reference;
+import java.util.Random;
+
+/**
+ * Reports the heap held by a million small expressions as object trees and as
+ * {@link FlatExpression}s, and the time to evaluate all of them once in each form.
+ *
+ * @author root
+ * @create 2026-10-19 9:05 PM
+ */
+public class FlatExpressionHeapHarness {
+
+    private static final int EXPRESSIONS = 1_000_000;
+    private static final int DEPTH = 3;
+
+    public static void main(String[] args) {
+        long baseline = usedHeap();
+        Expression[] trees = new Expression[EXPRESSIONS];
+        Random random = new Random(42);
+        for (int i = 0; i < EXPRESSIONS; i++) {
+            trees[i] = ExpressionCompilerBenchmark.randomTree(random, DEPTH);
+        }
+        long treeBytes = usedHeap() - baseline;
+
+        baseline = usedHeap();
+        FlatExpression[] flat = new FlatExpression[EXPRESSIONS];
+        for (int i = 0; i < EXPRESSIONS; i++) {
+            flat[i] = FlatExpression.flatten(trees[i]);
+        }
+        long flatBytes = usedHeap() - baseline;
+
+        int[] stack = new int[DEPTH + 1];
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            long treeSum = 0;
+            for (Expression tree : trees) {
+                treeSum += tree.interpret();
+            }
+            long treeNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long flatSum = 0;
+            for (FlatExpression f : flat) {
+                flatSum += f.interpret(stack);
+            }
+            long flatNanos = System.nanoTime() - start;
+            if (treeSum != flatSum) {
+                throw new IllegalStateException("Flat expressions disagree with the trees");
+            }
+            System.out.printf("evaluate all: tree %7.2f ms   flat %7.2f ms%n", treeNanos / 1e6, flatNanos / 1e6);
+        }
+        System.out.printf("tree: %6.1f bytes/expression%n", (double) treeBytes / EXPRESSIONS);
+        System.out.printf("flat: %6.1f bytes/expression%n", (double) flatBytes / EXPRESSIONS);
+        Reference.reachabilityFence(trees);
+        Reference.reachabilityFence(flat);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,156 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shunting-yard parser from infix text such as {@code "(7 - 3) * (2 + 1)"} to an
+ * {@link Expression} tree. {@code *} binds tighter than {@code +} and {@code -}, both of which are
+ * left-associative; parentheses group and a leading {@code -} negates. Identifiers become
+ * {@link Variable}s shared by name, unless the text is parsed with {@link #parseConstant}.
+ *
+ * @author root
+ * @create 2026-10-19 9:30 PM
+ */
+public final class InfixParser {
+
+    private static final char NEGATE = 'u';
+
+    private final CharSequence source;
+    private final boolean allowVariables;
+    private final Deque<Expression> operands = new ArrayDeque<>();
+    private final Deque<Character> operators = new ArrayDeque<>();
+    private final Map<String, Variable> variables = new HashMap<>();
+    private int position;
+
+    private InfixParser(CharSequence source, boolean allowVariables) {
+        this.source = source;
+        this.allowVariables = allowVariables;
+    }
+
+    public static Expression parse(CharSequence source) {
+        return new InfixParser(source, true).parse();
+    }
+
+    /**
+     * Parses text that may only contain literals, operators and parentheses.
+     */
+    public static Expression parseConstant(CharSequence source) {
+        return new InfixParser(source, false).parse();
+    }
+
+    private Expression parse() {
+        boolean expectOperand = true;
+        int length = source.length();
+        while (position < length) {
+            char c = source.charAt(position);
+            if (Character.isWhitespace(c)) {
+                position++;
+            } else if (expectOperand) {
+                if (isDigit(c)) {
+                    operands.push(new Number(readInt(false)));
+                    expectOperand = false;
+                } else if (c == '-' && position + 1 < length && isDigit(source.charAt(position + 1))) {
+                    position++;
+                    operands.push(new Number(readInt(true)));
+                    expectOperand = false;
+                } else if (c == '-') {
+                    operators.push(NEGATE);
+                    position++;
+                } else if (c == '(') {
+                    operators.push(c);
+                    position++;
+                } else if (Character.isJavaIdentifierStart(c)) {
+                    operands.push(readVariable());
+                    expectOperand = false;
+                } else {
+                    throw error("Expected an operand");
+                }
+            } else if (c == '+' || c == '-' || c == '*') {
+                while (!operators.isEmpty() && operators.peek() != '('
+                        && precedence(operators.peek()) >= precedence(c)) {
+                    reduce();
+                }
+                operators.push(c);
+                position++;
+                expectOperand = true;
+            } else if (c == ')') {
+                while (!operators.isEmpty() && operators.peek() != '(') {
+                    reduce();
+                }
+                if (operators.isEmpty()) {
+                    throw error("Unbalanced ')'");
+                }
+                operators.pop();
+                position++;
+            } else {
+                throw error("Expected an operator");
+            }
+        }
+        if (expectOperand) {
+            throw error("Unexpected end of expression");
+        }
+        while (!operators.isEmpty()) {
+            if (operators.peek() == '(') {
+                throw error("Unbalanced '('");
+            }
+            reduce();
+        }
+        return operands.pop();
+    }
+
+    private void reduce() {
+        char operator = operators.pop();
+        Expression right = operands.pop();
+        if (operator == NEGATE) {
+            operands.push(new Substract(new Number(0), right));
+        } else {
+            operands.push(ExpressionUtils.getOperator(String.valueOf(operator), operands.pop(), right));
+        }
+    }
+
+    private int readInt(boolean negative) {
+        int start = position;
+        long value = 0;
+        while (position < source.length() && isDigit(source.charAt(position))) {
+            value = value * 10 + (source.charAt(position++) - '0');
+            if (value > (negative ? 1L + Integer.MAX_VALUE : Integer.MAX_VALUE)) {
+                position = start;
+                throw error("Integer out of range");
+            }
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    private Variable readVariable() {
+        if (!allowVariables) {
+            throw error("Variables are not allowed here");
+        }
+        int start = position;
+        while (position < source.length() && Character.isJavaIdentifierPart(source.charAt(position))) {
+            position++;
+        }
+        return variables.computeIfAbsent(source.subSequence(start, position).toString(), Variable::new);
+    }
+
+    private static int precedence(char operator) {
+        switch (operator) {
+            case NEGATE:
+                return 3;
+            case '*':
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at " + position + " in: " + source);
+    }
+}
@@ -12,6 +12,10 @@ public class Number implements Expression {
         this.n = n;
     }
 
+    public int getValue() {
+        return n;
+    }
+
     @Override
     public int interpret() {
         return n;
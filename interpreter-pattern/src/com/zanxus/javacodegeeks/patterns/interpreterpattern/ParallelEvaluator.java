@@ -0,0 +1,225 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates one large expression across a {@link ForkJoinPool}. Subtree costs are measured once
+ * up front; during evaluation a binary node both of whose sides cost more than the threshold forks
+ * the cheaper side and walks the other in the current task, while cheaper subtrees fall back to
+ * the sequential {@link Expression#interpret()}. Long chains are walked on an explicit stack, so
+ * any expression {@link FlatExpression} can hold can be evaluated. The result of a node shared by
+ * several parents in a DAG is kept for the rest of the {@link #evaluate} call and reused, but
+ * tasks that reach such a node at the same time may each compute it; it is not locked, so that
+ * no task waits on another's partial result.
+ *
+ * @author root
+ * @create 2026-10-20 12:10 AM
+ */
+public final class ParallelEvaluator {
+
+    private static final int DEFAULT_THRESHOLD = 10_000;
+
+    private final Expression expression;
+    private final long threshold;
+    private final Map<Expression, Long> costs = new IdentityHashMap<>();
+    private final Map<Expression, Integer> parents = new IdentityHashMap<>();
+
+    public ParallelEvaluator(Expression expression) {
+        this(expression, DEFAULT_THRESHOLD);
+    }
+
+    public ParallelEvaluator(Expression expression, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.expression = expression;
+        this.threshold = threshold;
+        measure();
+    }
+
+    public int evaluate() {
+        return evaluate(ForkJoinPool.commonPool());
+    }
+
+    public int evaluate(ForkJoinPool pool) {
+        if (costs.get(expression) <= threshold) {
+            return expression.interpret();
+        }
+        return pool.invoke(new Evaluation(expression, new ConcurrentHashMap<>()));
+    }
+
+    /**
+     * Counts the parents of every node, visiting each shared node once, then computes each
+     * node's cost in post-order as its size with shared nodes counted once per use, saturating
+     * rather than overflowing.
+     */
+    private void measure() {
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        parents.put(expression, 0);
+        while (!pending.isEmpty()) {
+            Expression e = pending.pop();
+            if (e instanceof BinaryExpression) {
+                for (Expression child : new Expression[]{((BinaryExpression) e).getLeftExpression(),
+                        ((BinaryExpression) e).getRightExpression()}) {
+                    if (parents.merge(child, 1, Integer::sum) == 1) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression e = pending.peek();
+            if (!(e instanceof BinaryExpression)) {
+                costs.put(e, 1L);
+                pending.pop();
+                continue;
+            }
+            BinaryExpression binary = (BinaryExpression) e;
+            Long left = costs.get(binary.getLeftExpression());
+            Long right = costs.get(binary.getRightExpression());
+            if (left != null && right != null) {
+                costs.put(e, saturatedSum(left, right));
+                pending.pop();
+            } else {
+                if (left == null) {
+                    pending.push(binary.getLeftExpression());
+                }
+                if (right == null) {
+                    pending.push(binary.getRightExpression());
+                }
+            }
+        }
+    }
+
+    private static long saturatedSum(long left, long right) {
+        long sum = 1 + left + right;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Evaluates one subtree on an explicit stack of binary nodes, so the depth of the expression
+     * is limited by the heap rather than the thread stack. Only nodes that cost more than the
+     * threshold get a frame. Where both children do, the cheaper one is forked and the other is
+     * walked in this task. A join that runs the forked task on this thread therefore nests at most
+     * logarithmically many times. Cheaper subtrees are left to {@link Expression#interpret()}.
+     */
+    private class Evaluation extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1213466576222511541L;
+
+        private final Expression node;
+        private final Map<Expression, Integer> shared;
+
+        Evaluation(Expression node, Map<Expression, Integer> shared) {
+            this.node = node;
+            this.shared = shared;
+        }
+
+        @Override
+        protected Integer compute() {
+            Deque<Frame> frames = new ArrayDeque<>();
+            Expression e = node;
+            while (true) {
+                Integer known = isShared(e) ? shared.get(e) : null;
+                int value;
+                if (known != null) {
+                    value = known;
+                } else if (costs.get(e) <= threshold || !(e instanceof BinaryExpression)) {
+                    value = e.interpret();
+                    remember(e, value);
+                } else {
+                    e = enter((BinaryExpression) e, frames);
+                    continue;
+                }
+                while (true) {
+                    Frame frame = frames.peek();
+                    if (frame == null) {
+                        return value;
+                    }
+                    if (frame.forked == null && !frame.leftDone) {
+                        frame.leftDone = true;
+                        frame.left = value;
+                        e = frame.node.getRightExpression();
+                        break;
+                    }
+                    frames.pop();
+                    int left = frame.left;
+                    int right = value;
+                    if (frame.forked != null) {
+                        int other = frame.forked.join();
+                        left = frame.forkedLeft ? other : value;
+                        right = frame.forkedLeft ? value : other;
+                    }
+                    value = combine(frame.node.getOperator(), left, right);
+                    remember(frame.node, value);
+                }
+            }
+        }
+
+        /**
+         * Pushes a frame for {@code binary} and returns the child to walk next.
+         */
+        private Expression enter(BinaryExpression binary, Deque<Frame> frames) {
+            Frame frame = new Frame(binary);
+            frames.push(frame);
+            Expression left = binary.getLeftExpression();
+            Expression right = binary.getRightExpression();
+            long leftCost = costs.get(left);
+            long rightCost = costs.get(right);
+            if (leftCost > threshold && rightCost > threshold) {
+                frame.forkedLeft = leftCost <= rightCost;
+                frame.forked = new Evaluation(frame.forkedLeft ? left : right, shared);
+                frame.forked.fork();
+                return frame.forkedLeft ? right : left;
+            }
+            return left;
+        }
+
+        private boolean isShared(Expression e) {
+            return parents.getOrDefault(e, 0) > 1;
+        }
+
+        private void remember(Expression e, int value) {
+            if (isShared(e)) {
+                shared.putIfAbsent(e, value);
+            }
+        }
+    }
+
+    /**
+     * A binary node being evaluated. Either its forked child is pending and the other child is
+     * walked, or its left child is walked first and then its right.
+     */
+    private static final class Frame {
+        final BinaryExpression node;
+        Evaluation forked;
+        boolean forkedLeft;
+        boolean leftDone;
+        int left;
+
+        Frame(BinaryExpression node) {
+            this.node = node;
+        }
+    }
+
+    private static int combine(String operator, int left, int right) {
+        switch (operator) {
+            case "+":
+                return left + right;
+            case "-":
+                return left - right;
+            case "*":
+                return left * right;
+        }
+        throw new IllegalArgumentException("Unsupported operator: " + operator);
+    }
+}
@@ -0,0 +1,35 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.util.Random;
+
+/**
+ * Compares sequential {@link Expression#interpret()} with {@link ParallelEvaluator} on one
+ * very wide expression.
+ *
+ * @author root
+ * @create 2026-10-20 12:40 AM
+ */
+public class ParallelEvaluatorBenchmark {
+
+    private static final int DEPTH = 22;
+
+    public static void main(String[] args) {
+        Expression expression = ExpressionCompilerBenchmark.randomTree(new Random(42), DEPTH);
+        ParallelEvaluator parallel = new ParallelEvaluator(expression);
+        System.out.printf("%,d nodes on %d cores%n", (1 << (DEPTH + 1)) - 1, Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int sequentialResult = expression.interpret();
+            long sequential = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int parallelResult = parallel.evaluate();
+            long forked = System.nanoTime() - start;
+
+            if (sequentialResult != parallelResult) {
+                throw new IllegalStateException("Parallel evaluation disagrees");
+            }
+            System.out.printf("sequential: %7.2f ms   fork-join: %7.2f ms%n", sequential / 1e6, forked / 1e6);
+        }
+    }
+}
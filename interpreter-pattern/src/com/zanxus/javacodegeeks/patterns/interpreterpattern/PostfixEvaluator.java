@@ -0,0 +1,139 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable postfix evaluator that scans the source directly instead of splitting it into tokens.
+ * Integers are parsed in place and operands live on a primitive {@code int[]} stack, so once the
+ * stack has grown to the deepest expression seen, evaluation allocates nothing. Not thread-safe;
+ * use one instance per thread.
+ *
+ * @author root
+ * @create 2026-10-19 7:20 PM
+ */
+public final class PostfixEvaluator {
+
+    private int[] stack = new int[16];
+    private int size;
+
+    public int evaluate(CharSequence source) {
+        return evaluate(source, 0, source.length());
+    }
+
+    public int evaluate(CharSequence source, int from, int to) {
+        size = 0;
+        int i = from;
+        while (i < to) {
+            char c = source.charAt(i);
+            if (isSpace(c)) {
+                i++;
+                continue;
+            }
+            boolean negative = c == '-' && i + 1 < to && isDigit(source.charAt(i + 1));
+            if (negative || isDigit(c)) {
+                int start = i;
+                if (negative) {
+                    i++;
+                }
+                long value = 0;
+                while (i < to && isDigit(source.charAt(i))) {
+                    value = value * 10 + (source.charAt(i++) - '0');
+                    checkRange(value, negative, start);
+                }
+                push((int) (negative ? -value : value));
+            } else if (i + 1 == to || isSpace(source.charAt(i + 1))) {
+                apply(c, i);
+                i++;
+            } else {
+                throw new IllegalArgumentException("Unexpected token at " + i);
+            }
+        }
+        return result();
+    }
+
+    /**
+     * Evaluates the ASCII bytes between the buffer's position and limit, leaving both unchanged.
+     */
+    public int evaluate(ByteBuffer source) {
+        size = 0;
+        int to = source.limit();
+        int i = source.position();
+        while (i < to) {
+            byte c = source.get(i);
+            if (isSpace(c)) {
+                i++;
+                continue;
+            }
+            boolean negative = c == '-' && i + 1 < to && isDigit(source.get(i + 1));
+            if (negative || isDigit(c)) {
+                int start = i;
+                if (negative) {
+                    i++;
+                }
+                long value = 0;
+                while (i < to && isDigit(source.get(i))) {
+                    value = value * 10 + (source.get(i++) - '0');
+                    checkRange(value, negative, start);
+                }
+                push((int) (negative ? -value : value));
+            } else if (i + 1 == to || isSpace(source.get(i + 1))) {
+                apply((char) c, i);
+                i++;
+            } else {
+                throw new IllegalArgumentException("Unexpected token at " + i);
+            }
+        }
+        return result();
+    }
+
+    private void apply(char operator, int position) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Missing operand for '" + operator + "' at " + position);
+        }
+        int right = stack[--size];
+        int left = stack[size - 1];
+        switch (operator) {
+            case '+':
+                stack[size - 1] = left + right;
+                break;
+            case '-':
+                stack[size - 1] = left - right;
+                break;
+            case '*':
+                stack[size - 1] = left * right;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operator '" + operator + "' at " + position);
+        }
+    }
+
+    private void push(int value) {
+        if (size == stack.length) {
+            int[] grown = new int[size * 2];
+            System.arraycopy(stack, 0, grown, 0, size);
+            stack = grown;
+        }
+        stack[size++] = value;
+    }
+
+    private int result() {
+        if (size != 1) {
+            throw new IllegalArgumentException("Malformed postfix expression: " + size + " values left on the stack");
+        }
+        return stack[0];
+    }
+
+    private static void checkRange(long value, boolean negative, int position) {
+        if (value > (negative ? 1L + Integer.MAX_VALUE : Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Integer out of range at " + position);
+        }
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+}
@@ -0,0 +1,70 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Compares {@link PostfixEvaluator} with the split/Stack/Number approach of
+ * {@link TestInterpreterPattern} over a large postfix token stream.
+ *
+ * @author root
+ * @create 2026-10-19 7:45 PM
+ */
+public class PostfixEvaluatorBenchmark {
+
+    private static final int OPERANDS = 1_000_000;
+
+    public static void main(String[] args) {
+        String tokens = randomTokens(new Random(42));
+        ByteBuffer bytes = ByteBuffer.allocateDirect(tokens.length());
+        bytes.put(tokens.getBytes(StandardCharsets.US_ASCII)).flip();
+        int tokenCount = OPERANDS * 2 - 1;
+        PostfixEvaluator evaluator = new PostfixEvaluator();
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int expected = splitAndStack(tokens);
+            long naive = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int streamed = evaluator.evaluate(tokens);
+            long chars = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int buffered = evaluator.evaluate(bytes);
+            long direct = System.nanoTime() - start;
+
+            if (streamed != expected || buffered != expected) {
+                throw new IllegalStateException("Evaluators disagree");
+            }
+            System.out.printf("split+Stack: %6.1f Mtok/s   CharSequence: %6.1f Mtok/s   ByteBuffer: %6.1f Mtok/s%n",
+                    tokenCount * 1e3 / naive, tokenCount * 1e3 / chars, tokenCount * 1e3 / direct);
+        }
+    }
+
+    private static int splitAndStack(String tokenString) {
+        Stack<Expression> stack = new Stack<>();
+        for (String s : tokenString.split(" ")) {
+            if (ExpressionUtils.isOperator(s)) {
+                Expression rightExpression = stack.pop();
+                Expression leftExpression = stack.pop();
+                stack.push(new Number(ExpressionUtils.getOperator(s, leftExpression, rightExpression).interpret()));
+            } else {
+                stack.push(new Number(Integer.parseInt(s)));
+            }
+        }
+        return stack.pop().interpret();
+    }
+
+    private static String randomTokens(Random random) {
+        StringBuilder sb = new StringBuilder(OPERANDS * 8);
+        sb.append(random.nextInt(1000));
+        String[] operators = {"+", "-", "*"};
+        for (int i = 1; i < OPERANDS; i++) {
+            sb.append(' ').append(random.nextInt(1000)).append(' ').append(operators[random.nextInt(3)]);
+        }
+        return sb.toString();
+    }
+}
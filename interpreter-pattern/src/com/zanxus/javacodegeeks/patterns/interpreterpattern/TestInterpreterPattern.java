@@ -1,5 +1,10 @@
 package com.zanxus.javacodegeeks.patterns.interpreterpattern;
 
+import com.zanxus.javacodegeeks.patterns.interpreterpattern.typed.TypedExpressionParser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Stack;
 
 /**
@@ -25,5 +30,62 @@ public class TestInterpreterPattern {
             }
         }
         System.out.println("( " + tokenString + " ):" + stack.pop().interpret());
+        System.out.println("( " + tokenString + " ) streamed:" + new PostfixEvaluator().evaluate(tokenString));
+
+        Expression compiled = ExpressionCompiler.compile(ExpressionUtils.parse(tokenString));
+        System.out.println("( " + tokenString + " ) compiled:" + compiled.interpret());
+        String infix = "(7 - 3) * (2 + 1)";
+        System.out.println("( " + infix + " ) infix:" + InfixParser.parse(infix).interpret());
+        System.out.println("( " + tokenString + " ) flattened:" + FlatExpression.flatten(ExpressionUtils.parse(tokenString)).interpret());
+
+        String redundant = "7 3 - 1 * 2 1 + 0 + * 7 3 - 1 * 2 1 + 0 + * +";
+        Expression optimized = ExpressionOptimizer.optimize(ExpressionUtils.parse(redundant));
+        System.out.println("( " + redundant + " ) optimized:" + optimized.interpret());
+
+        String formula = "price qty * discount -";
+        Map<String, int[]> columns = new HashMap<>();
+        columns.put("price", new int[]{10, 20, 30});
+        columns.put("qty", new int[]{1, 2, 3});
+        columns.put("discount", new int[]{0, 5, 10});
+        int[] totals = new ColumnarEvaluator(ExpressionUtils.parse(formula)).evaluate(columns);
+        System.out.println("( " + formula + " ) columns:" + Arrays.toString(totals));
+
+        String large = "3000000000 4 *";
+        System.out.println("( " + large + " ) long:" + TypedExpressionParser.parseLong(large).interpret());
+        System.out.println("( 7.5 2 * 0.25 - ) double:" + TypedExpressionParser.parseDouble("7.5 2 * 0.25 -").interpret());
+        try {
+            TypedExpressionParser.parseLong("9223372036854775807 1 +", true).interpret();
+        } catch (ArithmeticException e) {
+            System.out.println("( 9223372036854775807 1 + ) checked:" + e.getMessage());
+        }
+
+        ExpressionCache cache = new ExpressionCache(128, e -> ExpressionCompiler.compile(ExpressionOptimizer.optimize(e)));
+        for (int i = 0; i < 3; i++) {
+            cache.evaluate(tokenString);
+            cache.evaluate(redundant);
+        }
+        Map<String, Integer> bindings = new HashMap<>();
+        bindings.put("price", 20);
+        bindings.put("qty", 2);
+        bindings.put("discount", 5);
+        System.out.println("( " + formula + " ) cached:" + cache.evaluate(formula, bindings));
+        System.out.println(cache);
+
+        Expression leftDeep = new Number(1);
+        for (int i = 0; i < 300_000; i++) {
+            leftDeep = new Add(leftDeep, new Product(new Number(2), new Number(3)));
+        }
+        Expression rightDeep = new Number(1);
+        for (int i = 0; i < 300_000; i++) {
+            rightDeep = new Substract(new Product(new Number(2), new Number(3)), rightDeep);
+        }
+        for (int threshold : new int[]{100, 1000, 10_000}) {
+            System.out.println("left-deep chain, threshold " + threshold + " parallel:"
+                    + new ParallelEvaluator(leftDeep, threshold).evaluate()
+                    + " flattened:" + FlatExpression.flatten(leftDeep).interpret());
+            System.out.println("right-deep chain, threshold " + threshold + " parallel:"
+                    + new ParallelEvaluator(rightDeep, threshold).evaluate()
+                    + " flattened:" + FlatExpression.flatten(rightDeep).interpret());
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern;
+
+/**
+ * Named variable reference. {@link #interpret()} returns the value last bound with
+ * {@link #setValue(int)}; {@link ColumnarEvaluator} binds it to a whole column instead, and
+ * {@link FlatExpression#interpret(int[], int[])} takes its value per call.
+ *
+ * @author root
+ * @create 2026-10-19 6:00 PM
+ */
+public class Variable implements Expression {
+
+    private final String name;
+    private int value;
+
+    public Variable(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public int interpret() {
+        return value;
+    }
+}
@@ -0,0 +1,23 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * Sum that fails with {@link ArithmeticException} on overflow rather than wrapping.
+ *
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class CheckedLongAdd implements LongExpression {
+
+    private final LongExpression leftExpression;
+    private final LongExpression rightExpression;
+
+    public CheckedLongAdd(LongExpression leftExpression, LongExpression rightExpression) {
+        this.leftExpression = leftExpression;
+        this.rightExpression = rightExpression;
+    }
+
+    @Override
+    public long interpret() {
+        return Math.addExact(leftExpression.interpret(), rightExpression.interpret());
+    }
+}
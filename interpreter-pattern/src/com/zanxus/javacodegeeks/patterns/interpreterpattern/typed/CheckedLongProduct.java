@@ -0,0 +1,24 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * Product computed with {@link Math#multiplyExact}; large aggregates that
+ * overflow {@code long} raise {@link ArithmeticException}.
+ *
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class CheckedLongProduct implements LongExpression {
+
+    private final LongExpression leftExpression;
+    private final LongExpression rightExpression;
+
+    public CheckedLongProduct(LongExpression leftExpression, LongExpression rightExpression) {
+        this.leftExpression = leftExpression;
+        this.rightExpression = rightExpression;
+    }
+
+    @Override
+    public long interpret() {
+        return Math.multiplyExact(leftExpression.interpret(), rightExpression.interpret());
+    }
+}
@@ -0,0 +1,23 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * Difference computed with {@link Math#subtractExact}, so an overflow throws.
+ *
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class CheckedLongSubstract implements LongExpression {
+
+    private final LongExpression leftExpression;
+    private final LongExpression rightExpression;
+
+    public CheckedLongSubstract(LongExpression leftExpression, LongExpression rightExpression) {
+        this.leftExpression = leftExpression;
+        this.rightExpression = rightExpression;
+    }
+
+    @Override
+    public long interpret() {
+        return Math.subtractExact(leftExpression.interpret(), rightExpression.interpret());
+    }
+}
@@ -0,0 +1,21 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class DoubleAdd implements DoubleExpression {
+
+    private final DoubleExpression leftExpression;
+    private final DoubleExpression rightExpression;
+
+    public DoubleAdd(DoubleExpression leftExpression, DoubleExpression rightExpression) {
+        this.leftExpression = leftExpression;
+        this.rightExpression = rightExpression;
+    }
+
+    @Override
+    public double interpret() {
+        return leftExpression.interpret() + rightExpression.interpret();
+    }
+}
@@ -0,0 +1,12 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * {@code double} counterpart of {@code Expression}. Never boxes.
+ *
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public interface DoubleExpression {
+
+    public double interpret();
+}
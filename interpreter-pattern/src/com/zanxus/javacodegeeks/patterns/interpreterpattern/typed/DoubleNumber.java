@@ -0,0 +1,19 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class DoubleNumber implements DoubleExpression {
+
+    private final double n;
+
+    public DoubleNumber(double n) {
+        this.n = n;
+    }
+
+    @Override
+    public double interpret() {
+        return n;
+    }
+}
@@ -0,0 +1,19 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class LongNumber implements LongExpression {
+
+    private final long n;
+
+    public LongNumber(long n) {
+        this.n = n;
+    }
+
+    @Override
+    public long interpret() {
+        return n;
+    }
+}
@@ -0,0 +1,21 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+/**
+ * @author root
+ * @create 2026-10-19 11:10 PM
+ */
+public class LongProduct implements LongExpression {
+
+    private final LongExpression leftExpression;
+    private final LongExpression rightExpression;
+
+    public LongProduct(LongExpression leftExpression, LongExpression rightExpression) {
+        this.leftExpression = leftExpression;
+        this.rightExpression = rightExpression;
+    }
+
+    @Override
+    public long interpret() {
+        return leftExpression.interpret() * rightExpression.interpret();
+    }
+}
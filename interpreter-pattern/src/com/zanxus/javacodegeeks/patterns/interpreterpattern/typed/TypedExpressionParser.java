@@ -0,0 +1,110 @@
+package com.zanxus.javacodegeeks.patterns.interpreterpattern.typed;
+
+import com.zanxus.javacodegeeks.patterns.interpreterpattern.ExpressionUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Parses whitespace-separated postfix text into the primitive-specialized families. The value
+ * type and, for {@code long}, checked or wrapping arithmetic are fixed here, so a parsed tree
+ * never mixes families and no value is boxed or checked for its type during evaluation. The
+ * {@code interpret()} calls inside a tree still dispatch across the family's add, subtract and
+ * product classes, as in the {@code int} interpreter.
+ *
+ * @author root
+ * @create 2026-10-19 11:30 PM
+ */
+public final class TypedExpressionParser {
+
+    private TypedExpressionParser() {
+        throw new AssertionError("Can't instantiate the class");
+    }
+
+    public static LongExpression parseLong(String tokenString) {
+        return parseLong(tokenString, false);
+    }
+
+    /**
+     * @param checked when true the operators use {@code Math.addExact} and friends and throw
+     *                {@link ArithmeticException} on overflow
+     */
+    public static LongExpression parseLong(String tokenString, boolean checked) {
+        Deque<LongExpression> stack = new ArrayDeque<>();
+        for (String s : tokens(tokenString)) {
+            if (ExpressionUtils.isOperator(s)) {
+                LongExpression right = pop(stack, s, tokenString);
+                LongExpression left = pop(stack, s, tokenString);
+                stack.push(checked ? checkedLongOperator(s, left, right) : longOperator(s, left, right));
+            } else {
+                stack.push(new LongNumber(Long.parseLong(s)));
+            }
+        }
+        return result(stack, tokenString);
+    }
+
+    public static DoubleExpression parseDouble(String tokenString) {
+        Deque<DoubleExpression> stack = new ArrayDeque<>();
+        for (String s : tokens(tokenString)) {
+            if (ExpressionUtils.isOperator(s)) {
+                DoubleExpression right = pop(stack, s, tokenString);
+                DoubleExpression left = pop(stack, s, tokenString);
+                stack.push(doubleOperator(s, left, right));
+            } else {
+                stack.push(new DoubleNumber(Double.parseDouble(s)));
+            }
+        }
+        return result(stack, tokenString);
+    }
+
+    private static LongExpression longOperator(String s, LongExpression left, LongExpression right) {
+        switch (s) {
+            case "+":
+                return new LongAdd(left, right);
+            case "-":
+                return new LongSubstract(left, right);
+            default:
+                return new LongProduct(left, right);
+        }
+    }
+
+    private static LongExpression checkedLongOperator(String s, LongExpression left, LongExpression right) {
+        switch (s) {
+            case "+":
+                return new CheckedLongAdd(left, right);
+            case "-":
+                return new CheckedLongSubstract(left, right);
+            default:
+                return new CheckedLongProduct(left, right);
+        }
+    }
+
+    private static DoubleExpression doubleOperator(String s, DoubleExpression left, DoubleExpression right) {
+        switch (s) {
+            case "+":
+                return new DoubleAdd(left, right);
+            case "-":
+                return new DoubleSubstract(left, right);
+            default:
+                return new DoubleProduct(left, right);
+        }
+    }
+
+    private static String[] tokens(String tokenString) {
+        return tokenString.trim().split("\\s+");
+    }
+
+    private static <T> T pop(Deque<T> stack, String operator, String tokenString) {
+        if (stack.isEmpty()) {
+            throw new IllegalArgumentException("Missing operand for '" + operator + "' in: " + tokenString);
+        }
+        return stack.pop();
+    }
+
+    private static <T> T result(Deque<T> stack, String tokenString) {
+        if (stack.size() != 1) {
+            throw new IllegalArgumentException("Malformed postfix expression: " + tokenString);
+        }
+        return stack.pop();
+    }
+}